@@ -0,0 +1,89 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import android.os.Bundle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Android edge of the event model: converts {@link AnalyticsEvent}s into the
+ * Bundles {@code FirebaseAnalytics.logEvent} expects. Item Bundles start from a
+ * per-product copy of the fixed fields and only add the quantity or index.
+ */
+public final class AnalyticsBundles {
+
+    private AnalyticsBundles() {
+    }
+
+    public static Bundle toBundle(AnalyticsEvent event) {
+        Map<String, Object> params = event.getParams();
+        List<EventItem> items = event.getItems();
+        Bundle bundle = new Bundle(params.size() + (items.isEmpty() ? 0 : 1));
+        for (Map.Entry<String, Object> entry : params.entrySet()) {
+            put(bundle, entry.getKey(), entry.getValue());
+        }
+        if (!items.isEmpty()) {
+            ArrayList<Bundle> itemBundles = new ArrayList<>(items.size());
+            for (EventItem item : items) {
+                itemBundles.add(toBundle(item));
+            }
+            bundle.putParcelableArrayList(EventSchema.Param.ITEMS, itemBundles);
+        }
+        return bundle;
+    }
+
+    static Bundle toBundle(EventItem item) {
+        Bundle bundle = new Bundle(fieldsBundle(item.getPayload()));
+        if (item.getQuantity() != EventItem.NOT_SET) {
+            bundle.putLong(EventSchema.Param.QUANTITY, item.getQuantity());
+        }
+        if (item.getIndex() != EventItem.NOT_SET) {
+            bundle.putLong(EventSchema.Param.INDEX, item.getIndex());
+        }
+        return bundle;
+    }
+
+    // The product's fixed item fields, mapped into a Bundle once and cached on its
+    // payload. The cached Bundle is never modified or sent; events get copies.
+    private static Bundle fieldsBundle(ItemPayload payload) {
+        Bundle fields = (Bundle) payload.getRendered();
+        if (fields == null) {
+            fields = new Bundle(5);
+            fields.putString(EventSchema.Param.ITEM_ID, payload.getId());
+            fields.putString(EventSchema.Param.ITEM_NAME, payload.getName());
+            fields.putString(EventSchema.Param.ITEM_CATEGORY, payload.getCategory());
+            fields.putDouble(EventSchema.Param.PRICE, payload.getPrice());
+            fields.putString(EventSchema.Param.ITEM_VARIANT, payload.getVariant());
+            payload.setRendered(fields);
+        }
+        return fields;
+    }
+
+    private static void put(Bundle bundle, String key, Object value) {
+        if (value instanceof Long) {
+            bundle.putLong(key, (Long) value);
+        } else if (value instanceof Double) {
+            bundle.putDouble(key, (Double) value);
+        } else if (value instanceof Boolean) {
+            bundle.putBoolean(key, (Boolean) value);
+        } else {
+            bundle.putString(key, (String) value);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.Log;
+
+import com.google.firebase.analytics.FirebaseAnalytics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Moves analytics work off the UI thread. Callers hand over an event name and a
+ * builder for the event; a single background worker builds it, logs it to
+ * Firebase as a Bundle and records it for the debug sheet.
+ */
+public class AnalyticsDispatcher {
+    private static final String TAG = "AnalyticsDispatcher";
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    /** Rapid add-to-cart taps on one product within this window become one event. */
+    public static final long ADD_TO_CART_MERGE_WINDOW_MILLIS = 1000;
+    /** A view event for the same subject is sent at most once per this interval. */
+    public static final long VIEW_DEDUPE_TTL_MILLIS = 30_000;
+    /** Default per-minute caps for the high-volume, low-value view events. */
+    public static final int VIEW_ITEM_MAX_PER_MINUTE = 60;
+    public static final int VIEW_ITEM_LIST_MAX_PER_MINUTE = 30;
+
+    private static AnalyticsDispatcher instance;
+
+    private final FirebaseAnalytics firebaseAnalytics;
+    private final EventSpool eventSpool;
+    // Pending events in arrival order, guarded by itself.
+    private final EventQueue<PendingEvent> queue;
+    // Guarded by queue. Set by the spool thread once the previous session's log is read.
+    private List<EventRecord> restoredRecords;
+    // This session's records, held on the worker thread until the restore is in.
+    private List<EventRecord> heldRecords = new ArrayList<>();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final EventMetrics metrics = new EventMetrics();
+    private final EventCoalescer coalescer = new EventCoalescer(mainHandler, this::enqueue);
+    private final EventBus<EventRecord> eventBus = new EventBus<>();
+    private final SamplingPolicy samplingPolicy = new SamplingPolicy(SamplingRule.KEEP_ALL);
+
+    private static final class PendingEvent {
+        final String eventName;
+        final Supplier<AnalyticsEvent> eventBuilder;
+        final long queuedAtNanos;
+
+        PendingEvent(String eventName, Supplier<AnalyticsEvent> eventBuilder, long queuedAtNanos) {
+            this.eventName = eventName;
+            this.eventBuilder = eventBuilder;
+            this.queuedAtNanos = queuedAtNanos;
+        }
+    }
+
+    AnalyticsDispatcher(FirebaseAnalytics firebaseAnalytics, EventSpool eventSpool, int queueCapacity,
+            EventQueue.OverflowPolicy overflowPolicy) {
+        this.firebaseAnalytics = firebaseAnalytics;
+        this.eventSpool = eventSpool;
+        // The spool only enqueues, so it can take events on the worker thread.
+        eventBus.subscribe(EventBus.DIRECT, eventSpool::append);
+        this.queue = new EventQueue<>(queueCapacity, overflowPolicy);
+
+        coalescer.setRule(EventSchema.Event.ADD_TO_CART,
+                CoalescingRule.mergeQuantity(ADD_TO_CART_MERGE_WINDOW_MILLIS));
+        coalescer.setRule(EventSchema.Event.VIEW_ITEM, CoalescingRule.dedupe(VIEW_DEDUPE_TTL_MILLIS));
+        coalescer.setRule(EventSchema.Event.VIEW_ITEM_LIST, CoalescingRule.dedupe(VIEW_DEDUPE_TTL_MILLIS));
+        coalescer.setRule(EventSchema.Event.VIEW_CART, CoalescingRule.dedupe(VIEW_DEDUPE_TTL_MILLIS));
+
+        samplingPolicy.setRule(EventSchema.Event.PURCHASE, SamplingRule.critical());
+        samplingPolicy.setRule(EventSchema.Event.VIEW_ITEM, SamplingRule.rateCapped(VIEW_ITEM_MAX_PER_MINUTE));
+        samplingPolicy.setRule(EventSchema.Event.VIEW_ITEM_LIST,
+                SamplingRule.rateCapped(VIEW_ITEM_LIST_MAX_PER_MINUTE));
+
+        Thread worker = new Thread(this::runWorker, "analytics-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public static synchronized AnalyticsDispatcher getInstance(Context context) {
+        if (instance == null) {
+            instance = new AnalyticsDispatcher(
+                    FirebaseAnalytics.getInstance(context.getApplicationContext()),
+                    EventSpool.getInstance(context),
+                    DEFAULT_QUEUE_CAPACITY,
+                    EventQueue.OverflowPolicy.DROP_OLDEST);
+        }
+        return instance;
+    }
+
+    /**
+     * Queues an event without blocking. {@code eventBuilder} runs on the worker
+     * thread, so it must only read state that is safe to access from there.
+     *
+     * @return false if the event was sampled out or dropped because the queue was full
+     */
+    public boolean dispatch(String eventName, Supplier<AnalyticsEvent> eventBuilder) {
+        return enqueue(eventName, metrics.getCurrentScreen(), eventBuilder);
+    }
+
+    /**
+     * Like {@link #dispatch}, but subject to the event's dedupe rule: a repeat with
+     * the same {@code key} inside the rule's TTL is dropped before its builder runs.
+     * Sampling only sees the events that survive, so repeats never use up a cap.
+     *
+     * @return false if the event was suppressed, sampled out or dropped
+     */
+    public boolean dispatchOnce(String eventName, String key, Supplier<AnalyticsEvent> eventBuilder) {
+        if (!coalescer.acceptOnce(eventName, key)) {
+            metrics.recordCoalesced(eventName);
+            return false;
+        }
+        return enqueue(eventName, metrics.getCurrentScreen(), eventBuilder);
+    }
+
+    /**
+     * Dispatches an event carrying a quantity, subject to the event's merge rule:
+     * events with the same {@code key} inside the window are sent once, built with
+     * the summed quantity when the window closes. The merged event is sampled once,
+     * when it is flushed.
+     *
+     * @return false if the event was folded into one already pending, or was not
+     *     merged and then sampled out or dropped
+     */
+    public boolean dispatchQuantity(String eventName, String key, long quantity,
+            LongFunction<AnalyticsEvent> eventBuilder) {
+        if (coalescer.getRule(eventName).mode != CoalescingRule.Mode.MERGE_QUANTITY) {
+            return enqueue(eventName, metrics.getCurrentScreen(), () -> eventBuilder.apply(quantity));
+        }
+        if (coalescer.offerQuantity(eventName, key, quantity, metrics.getCurrentScreen(), eventBuilder)) {
+            return true;
+        }
+        metrics.recordCoalesced(eventName);
+        return false;
+    }
+
+    /** Replaces the coalescing rule for {@code eventName}; use {@link CoalescingRule#NONE} to disable it. */
+    public void setCoalescingRule(String eventName, CoalescingRule rule) {
+        coalescer.setRule(eventName, rule);
+    }
+
+    /** Replaces the sampling rule for {@code eventName}; use {@link SamplingRule#KEEP_ALL} to send every event. */
+    public void setSamplingRule(String eventName, SamplingRule rule) {
+        samplingPolicy.setRule(eventName, rule);
+    }
+
+    // Every event reaches here after coalescing. Sampling runs before the event is
+    // queued or built, so sampled-out events cost almost nothing.
+    private boolean enqueue(String eventName, String screen, Supplier<AnalyticsEvent> eventBuilder) {
+        if (!samplingPolicy.shouldKeep(eventName)) {
+            metrics.recordSampledOut(eventName);
+            return false;
+        }
+        SamplingRule.Priority priority = samplingPolicy.getRule(eventName).getPriority();
+        PendingEvent event = new PendingEvent(eventName, eventBuilder, System.nanoTime());
+        metrics.recordQueued(eventName, screen);
+
+        PendingEvent dropped;
+        synchronized (queue) {
+            dropped = queue.offer(event, priority);
+            if (dropped != event) {
+                queue.notify();
+            }
+        }
+        if (dropped != null) {
+            metrics.recordDropped(dropped.eventName);
+        }
+        return dropped != event;
+    }
+
+    /**
+     * Every event recorded in the debug log is published here, on the worker
+     * thread, after it has been added to {@link MyApplication#eventLog}.
+     */
+    public EventBus<EventRecord> getEventBus() {
+        return eventBus;
+    }
+
+    /** Per-event counters and latencies, for the debug sheet and metrics export. */
+    public EventMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void runWorker() {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+        // Bring back the previous session's events so tagging issues can be
+        // inspected after a crash or restart. The spool reads them on its own
+        // thread; events are sent to Firebase straight away, and only their debug
+        // log records wait in heldRecords so the restored ones stay ahead of them.
+        eventSpool.restore(MyApplication.EVENT_LOG_CAPACITY, records -> {
+            synchronized (queue) {
+                restoredRecords = records;
+                queue.notify();
+            }
+        });
+        while (true) {
+            PendingEvent event;
+            List<EventRecord> restored;
+            synchronized (queue) {
+                while (queue.isEmpty() && restoredRecords == null) {
+                    try {
+                        queue.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                restored = restoredRecords;
+                restoredRecords = null;
+                event = queue.poll();
+            }
+            if (restored != null) {
+                finishRestore(restored);
+            }
+            if (event == null) {
+                continue;
+            }
+            try {
+                deliver(event);
+            } catch (RuntimeException e) {
+                Log.w(TAG, "Failed to log event " + event.eventName, e);
+            }
+        }
+    }
+
+    private void finishRestore(List<EventRecord> restored) {
+        for (EventRecord record : restored) {
+            MyApplication.eventLog.add(record);
+        }
+        List<EventRecord> held = heldRecords;
+        heldRecords = null;
+        for (EventRecord record : held) {
+            record(record);
+        }
+    }
+
+    private void deliver(PendingEvent event) {
+        long startNanos = System.nanoTime();
+        AnalyticsEvent analyticsEvent = event.eventBuilder.get();
+        long builtNanos = System.nanoTime();
+
+        firebaseAnalytics.logEvent(analyticsEvent.getName(), AnalyticsBundles.toBundle(analyticsEvent));
+
+        EventRecord record = EventRecord.fromEvent(analyticsEvent, System.currentTimeMillis());
+        if (heldRecords != null) {
+            heldRecords.add(record);
+        } else {
+            record(record);
+        }
+
+        metrics.recordDelivered(event.eventName, startNanos - event.queuedAtNanos, builtNanos - startNanos,
+                System.nanoTime() - builtNanos, EventMetrics.estimatePayloadBytes(analyticsEvent));
+    }
+
+    private void record(EventRecord record) {
+        MyApplication.eventLog.add(record);
+        eventBus.publish(record);
+    }
+}
@@ -15,15 +15,49 @@
  */
 package com.soteria.firebaseapp.android;
 
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * The shopping cart. All mutations are serialized on one lock, reads go through
+ * immutable snapshots, and every mutation is announced to registered
+ * {@link CartListener}s as a {@link CartChange}.
+ */
 public class Cart {
+
+    public interface CartListener {
+        void onCartChanged(CartChange change);
+    }
+
     private static Cart instance;
-    private List<Product> items;
 
-    private Cart() {
-        items = new ArrayList<>();
+    private final Object lock = new Object();
+    // Keyed by product id; insertion order is the order items are shown in.
+    private final Map<String, CartLine> lines = new LinkedHashMap<>();
+    private final String currencyCode = Money.DEFAULT_CURRENCY;
+    private long totalMinorUnits;
+    private int itemCount;
+    // Rebuilt lazily after a mutation, so quantity taps stay O(1).
+    private List<CartLine> snapshot = Collections.emptyList();
+    private boolean snapshotStale;
+
+    private final CopyOnWriteArrayList<CartListener> listeners = new CopyOnWriteArrayList<>();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Package-private so benchmarks can measure a cart without the app's listeners.
+    Cart() {
     }
 
     public static synchronized Cart getInstance() {
@@ -33,28 +67,212 @@ public class Cart {
         return instance;
     }
 
-    public void addItem(Product product) {
-        items.add(product);
+    /** Adds the product, or bumps its quantity if it is already in the cart. */
+    public CartLine add(Product product) {
+        if (!currencyCode.equals(product.getPrice().getCurrencyCode())) {
+            throw new IllegalArgumentException("Cart is in " + currencyCode
+                    + " but " + product.getId() + " is priced in " + product.getPrice().getCurrencyCode());
+        }
+        synchronized (lock) {
+            CartLine existing = lines.get(product.getId());
+            if (existing != null) {
+                return changeQuantityLocked(existing, 1);
+            }
+            CartLine line = new CartLine(product, 1);
+            long total = Math.addExact(totalMinorUnits, line.getTotalMinorUnits());
+            lines.put(product.getId(), line);
+            totalMinorUnits = total;
+            itemCount += line.getQuantity();
+            publishLocked(CartChange.Type.ADDED, line);
+            return line;
+        }
+    }
+
+    /** Returns the new quantity, or 0 if the product is not in the cart. */
+    public int increment(String productId) {
+        synchronized (lock) {
+            CartLine line = lines.get(productId);
+            if (line == null) {
+                return 0;
+            }
+            return changeQuantityLocked(line, 1).getQuantity();
+        }
+    }
+
+    /**
+     * Lowers the quantity by one, removing the product once it would reach zero.
+     * Returns the new quantity, or 0 if the product is no longer in the cart.
+     */
+    public int decrement(String productId) {
+        synchronized (lock) {
+            CartLine line = lines.get(productId);
+            if (line == null) {
+                return 0;
+            }
+            if (line.getQuantity() <= 1) {
+                removeLocked(productId);
+                return 0;
+            }
+            return changeQuantityLocked(line, -1).getQuantity();
+        }
     }
 
-    public List<Product> getItems() {
-        return items;
+    public void remove(String productId) {
+        synchronized (lock) {
+            removeLocked(productId);
+        }
     }
 
     public void clearCart() {
-        items.clear();
+        synchronized (lock) {
+            if (lines.isEmpty()) {
+                return;
+            }
+            lines.clear();
+            totalMinorUnits = 0;
+            itemCount = 0;
+            publishLocked(CartChange.Type.CLEARED, null);
+        }
     }
 
-    public Product findProduct(String productId) {
-        for (Product p : items) {
-            if (p.getId().equals(productId)) {
-                return p;
+    /**
+     * Puts back lines saved by a previous session. Products the user has already
+     * added in this session keep their current quantity.
+     */
+    public void restore(List<CartLine> savedLines) {
+        synchronized (lock) {
+            for (CartLine line : savedLines) {
+                if (lines.containsKey(line.getProductId())
+                        || !currencyCode.equals(line.getProduct().getPrice().getCurrencyCode())) {
+                    continue;
+                }
+                long total = Math.addExact(totalMinorUnits, line.getTotalMinorUnits());
+                lines.put(line.getProductId(), line);
+                totalMinorUnits = total;
+                itemCount += line.getQuantity();
+                publishLocked(CartChange.Type.ADDED, line);
             }
         }
-        return null;
     }
 
-    public void removeItem(Product product) {
-        items.remove(product);
+    /** Returns an immutable snapshot of the cart lines in the order they were added. */
+    public List<CartLine> getItems() {
+        synchronized (lock) {
+            if (snapshotStale) {
+                snapshot = Collections.unmodifiableList(new ArrayList<>(lines.values()));
+                snapshotStale = false;
+            }
+            return snapshot;
+        }
+    }
+
+    public CartLine findLine(String productId) {
+        synchronized (lock) {
+            return lines.get(productId);
+        }
+    }
+
+    public Money getTotal() {
+        synchronized (lock) {
+            return Money.of(totalMinorUnits, currencyCode);
+        }
+    }
+
+    public long getTotalMinorUnits() {
+        synchronized (lock) {
+            return totalMinorUnits;
+        }
+    }
+
+    public String getCurrencyCode() {
+        return currencyCode;
+    }
+
+    /** Total quantity across all products. */
+    public int getItemCount() {
+        synchronized (lock) {
+            return itemCount;
+        }
+    }
+
+    /** Number of distinct products. */
+    public int getLineCount() {
+        synchronized (lock) {
+            return lines.size();
+        }
+    }
+
+    public boolean isEmpty() {
+        return getLineCount() == 0;
+    }
+
+    /**
+     * Registers a listener that is called on the mutating thread while the cart
+     * lock is held, so it sees changes in order. It must not block or call back
+     * into the cart.
+     */
+    public void addListener(CartListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(CartListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Delivers changes on the main thread for as long as {@code owner} is alive,
+     * and unregisters automatically when it is destroyed. Must be called on the
+     * main thread.
+     */
+    public void observe(LifecycleOwner owner, CartListener listener) {
+        Lifecycle lifecycle = owner.getLifecycle();
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) {
+            return;
+        }
+        CartListener mainThreadListener = change -> mainHandler.post(() -> {
+            if (lifecycle.getCurrentState() != Lifecycle.State.DESTROYED) {
+                listener.onCartChanged(change);
+            }
+        });
+        addListener(mainThreadListener);
+        lifecycle.addObserver(new DefaultLifecycleObserver() {
+            @Override
+            public void onDestroy(@NonNull LifecycleOwner source) {
+                removeListener(mainThreadListener);
+            }
+        });
+    }
+
+    private CartLine changeQuantityLocked(CartLine line, int delta) {
+        CartLine updated = line.withQuantity(line.getQuantity() + delta);
+        // Checked before anything changes, so an overflow leaves the cart as it was.
+        long total = Math.addExact(totalMinorUnits,
+                Math.multiplyExact(line.getProduct().getPrice().getMinorUnits(), delta));
+        lines.put(updated.getProductId(), updated);
+        totalMinorUnits = total;
+        itemCount += delta;
+        publishLocked(CartChange.Type.UPDATED, updated);
+        return updated;
+    }
+
+    private void removeLocked(String productId) {
+        CartLine line = lines.remove(productId);
+        if (line == null) {
+            return;
+        }
+        totalMinorUnits = Math.subtractExact(totalMinorUnits, line.getTotalMinorUnits());
+        itemCount -= line.getQuantity();
+        publishLocked(CartChange.Type.REMOVED, line);
+    }
+
+    private void publishLocked(CartChange.Type type, CartLine line) {
+        snapshotStale = true;
+        if (listeners.isEmpty()) {
+            return;
+        }
+        CartChange change = new CartChange(type, line, totalMinorUnits, currencyCode, itemCount, lines.size());
+        for (CartListener listener : listeners) {
+            listener.onCartChanged(change);
+        }
     }
-}
\ No newline at end of file
+}
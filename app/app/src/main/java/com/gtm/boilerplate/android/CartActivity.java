@@ -17,75 +17,45 @@ package com.soteria.firebaseapp.android;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.view.View;
 import android.widget.Button;
-import android.widget.ImageView;
-import android.widget.LinearLayout;
 import android.widget.TextView;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 import com.google.firebase.analytics.FirebaseAnalytics;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
-public class CartActivity extends AppCompatActivity implements ToolbarAndBottomSheet.EventListener {
+public class CartActivity extends AppCompatActivity {
 
-    private FirebaseAnalytics firebaseAnalytics;
+    private AnalyticsDispatcher analyticsDispatcher;
     private Button checkoutButton;
+    private CartAdapter cartAdapter;
+    private TextView cartTotalTextView;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_cart);
 
-        firebaseAnalytics = FirebaseAnalytics.getInstance(this);
+        analyticsDispatcher = AnalyticsDispatcher.getInstance(this);
 
         ToolbarAndBottomSheet.initializeToolbarAndBottomSheet(this);
 
-        List<Product> cartItems = Cart.getInstance().getItems();
+        List<CartLine> cartItems = Cart.getInstance().getItems();
 
-        double cartTotal = calculateCartTotal(cartItems);
-        TextView cartTotalTextView = findViewById(R.id.cart_total_textview);
-        cartTotalTextView.setText("Total: $" + cartTotal);
+        cartTotalTextView = findViewById(R.id.cart_total_textview);
+        cartTotalTextView.setText("Total: " + Cart.getInstance().getTotal().format());
 
         checkoutButton = findViewById(R.id.checkout_button);
 
-        LinearLayout cartItemsContainer = findViewById(R.id.cart_items_container);
-
-        for (Product product: cartItems) {
-            View itemView = getLayoutInflater().inflate(R.layout.cart_item, null);
-            TextView productNameTextView = itemView.findViewById(R.id.product_name_textview);
-            productNameTextView.setText(product.getName());
-            TextView productPriceTextView = itemView.findViewById(R.id.product_price_textview);
-            productPriceTextView.setText(String.valueOf(product.getPrice()));
-            ImageView productImageView = itemView.findViewById(R.id.product_imageview);
-            productImageView.setImageResource(product.getImageResource());
-
-            TextView quantityTextView = itemView.findViewById(R.id.quantity_textview);
-            quantityTextView.setText(String.valueOf(product.getQuantity()));
-            Button increaseButton = itemView.findViewById(R.id.increase_button);
-            Button decreaseButton = itemView.findViewById(R.id.decrease_button);
-
-            increaseButton.setOnClickListener(v -> {
-                product.setQuantity(product.getQuantity() + 1);
-                quantityTextView.setText(String.valueOf(product.getQuantity()));
-                updateCartTotal();
-            });
-
-            decreaseButton.setOnClickListener(v -> {
-                if (product.getQuantity() > 1) {
-                    product.setQuantity(product.getQuantity() - 1);
-                    quantityTextView.setText(String.valueOf(product.getQuantity()));
-                    updateCartTotal();
-                } else {
-                    Cart.getInstance().removeItem(product);
-                    cartItemsContainer.removeView(itemView);
-                    updateCartTotal();
-                }
-            });
-
-            cartItemsContainer.addView(itemView);
-        }
+        RecyclerView cartItemsRecyclerView = findViewById(R.id.cart_items_recycler_view);
+        cartItemsRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        cartAdapter = new CartAdapter();
+        cartItemsRecyclerView.setAdapter(cartAdapter);
+        cartAdapter.submitList(cartItems);
+
+        Cart.getInstance().observe(this, this::onCartChanged);
 
         checkoutButton.setOnClickListener(view -> {
             if (checkoutButton.getText().toString().equals("Add products")) {
@@ -96,115 +66,60 @@ public class CartActivity extends AppCompatActivity implements ToolbarAndBottomS
 
                 String orderId = generateUniqueOrderId();
 
-                Bundle purchaseBundle = getPurchaseBundle(cartTotal, orderId);
-                firebaseAnalytics.logEvent(FirebaseAnalytics.Event.PURCHASE, purchaseBundle);
-                ToolbarAndBottomSheet.addEventToJsonList(this, FirebaseAnalytics.Event.PURCHASE, purchaseBundle);
+                // getItems returns a snapshot, so the worker is unaffected by clearCart below.
+                List<CartLine> purchasedItems = Cart.getInstance().getItems();
+                Money cartTotal = Cart.getInstance().getTotal();
+                analyticsDispatcher.dispatch(FirebaseAnalytics.Event.PURCHASE,
+                        () -> EcommerceEvents.purchase(purchasedItems, cartTotal, orderId));
 
                 Intent successIntent = new Intent(CartActivity.this, SuccessActivity.class);
-                successIntent.putExtra("PURCHASE_JSON", ToolbarAndBottomSheet.getDemoJson(FirebaseAnalytics.Event.PURCHASE, purchaseBundle));
                 startActivity(successIntent);
 
                 Cart.getInstance().clearCart();
-                cartItemsContainer.removeAllViews();
-                updateCheckoutButtonState();
             }
         });
 
-        Bundle viewCartBundle = getViewCartBundle(cartItems);
-        firebaseAnalytics.logEvent(FirebaseAnalytics.Event.VIEW_CART, viewCartBundle);
-        ToolbarAndBottomSheet.addEventToJsonList(this, FirebaseAnalytics.Event.VIEW_CART, viewCartBundle);
+        // Re-opening the cart with unchanged contents is not a new view_cart.
+        Money viewedTotal = Cart.getInstance().getTotal();
+        analyticsDispatcher.dispatchOnce(FirebaseAnalytics.Event.VIEW_CART, contentsKey(cartItems),
+                () -> EcommerceEvents.viewCart(cartItems, viewedTotal));
 
         updateCheckoutButtonState();
     }
 
-    private void performCheckoutProcess() {
-        // Implement your checkout logic here
-    }
-
-    private String generateUniqueOrderId() {
-        return UUID.randomUUID().toString().substring(0, 16);
-    }
-
-    private double calculateCartTotal(List<Product> cartItems) {
-        double total = 0;
-        for (Product product: cartItems) {
-            total += product.getPrice() * product.getQuantity();
+    // Identifies the cart's contents by line; totals alone collide when items swap at equal prices.
+    private static String contentsKey(List<CartLine> lines) {
+        StringBuilder sb = new StringBuilder(lines.size() * 16);
+        for (CartLine line : lines) {
+            sb.append(line.getProductId()).append('=').append(line.getQuantity()).append(';');
         }
-        return total;
+        return sb.toString();
     }
 
-    private Bundle getPurchaseBundle(double cartTotal, String orderId) {
-        Bundle bundle = new Bundle();
-
-        bundle.putString(FirebaseAnalytics.Param.TRANSACTION_ID, orderId);
-        bundle.putString(FirebaseAnalytics.Param.AFFILIATION, "Store Name");
-        bundle.putDouble(FirebaseAnalytics.Param.VALUE, cartTotal);
-        bundle.putString(FirebaseAnalytics.Param.CURRENCY, "USD");
-
-        // Use a regular ArrayList instead of ParcelableArrayList
-        ArrayList<Bundle> items = new ArrayList<>(Cart.getInstance().getItems().size());
-
-        for (Product product: Cart.getInstance().getItems()) {
-            Bundle item = new Bundle();
-            item.putString(FirebaseAnalytics.Param.ITEM_ID, product.getId());
-            item.putString(FirebaseAnalytics.Param.ITEM_NAME, product.getName());
-            item.putString(FirebaseAnalytics.Param.ITEM_CATEGORY, product.getCategory());
-            item.putDouble(FirebaseAnalytics.Param.PRICE, product.getPrice());
-            item.putLong(FirebaseAnalytics.Param.QUANTITY, product.getQuantity());
-            item.putString(FirebaseAnalytics.Param.ITEM_VARIANT, product.getSku());
-            items.add(item);
-        }
-
-        // Add the items ArrayList to the bundle
-        bundle.putSerializable(FirebaseAnalytics.Param.ITEMS, items);
-
-        return bundle;
+    private void onCartChanged(CartChange change) {
+        cartAdapter.submitList(Cart.getInstance().getItems());
+        cartTotalTextView.setText("Total: " + change.getTotal().format());
+        updateCheckoutButtonState(change.isCartEmpty());
     }
 
-    private void updateCartTotal() {
-        double cartTotal = calculateCartTotal(Cart.getInstance().getItems());
-        TextView cartTotalTextView = findViewById(R.id.cart_total_textview);
-        cartTotalTextView.setText("Total: $" + cartTotal);
-
-        updateCheckoutButtonState();
+    private void performCheckoutProcess() {
+        // Implement your checkout logic here
     }
 
-    private Bundle getViewCartBundle(List<Product> cartItems) {
-        Bundle bundle = new Bundle();
-
-        // Use a regular ArrayList instead of ParcelableArrayList
-        ArrayList<Bundle> items = new ArrayList<>(cartItems.size());
-
-        for (Product product: cartItems) {
-            Bundle item = new Bundle();
-            item.putString(FirebaseAnalytics.Param.ITEM_ID, product.getId());
-            item.putString(FirebaseAnalytics.Param.ITEM_NAME, product.getName());
-            item.putString(FirebaseAnalytics.Param.ITEM_CATEGORY, product.getCategory());
-            item.putDouble(FirebaseAnalytics.Param.PRICE, product.getPrice());
-            item.putLong(FirebaseAnalytics.Param.QUANTITY, product.getQuantity());
-            item.putString(FirebaseAnalytics.Param.ITEM_VARIANT, product.getSku());
-            items.add(item);
-        }
-
-        // Add the items ArrayList to the bundle
-        bundle.putSerializable(FirebaseAnalytics.Param.ITEMS, items);
-
-        return bundle;
+    private String generateUniqueOrderId() {
+        return UUID.randomUUID().toString().substring(0, 16);
     }
 
     private void updateCheckoutButtonState() {
-        int cartItemCount = Cart.getInstance().getItems().size();
-        if (cartItemCount > 0) {
+        updateCheckoutButtonState(Cart.getInstance().isEmpty());
+    }
+
+    private void updateCheckoutButtonState(boolean cartEmpty) {
+        if (!cartEmpty) {
             checkoutButton.setEnabled(true);
             checkoutButton.setText("Checkout");
         } else {
             checkoutButton.setText("Add products");
         }
     }
-
-    @Override
-    public void onEvent(String eventName, Bundle params) {
-        String jsonString = ToolbarAndBottomSheet.getDemoJson(eventName, params);
-        MyApplication.eventJsonList.add(0, jsonString);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.List;
+
+/**
+ * Renders cart snapshots. Successive snapshots are diffed by product id, and a
+ * quantity-only change rebinds just the quantity of the affected row.
+ */
+public class CartAdapter extends ListAdapter<CartLine, CartAdapter.ViewHolder> {
+
+    private static final Object QUANTITY_CHANGED = new Object();
+
+    private static final DiffUtil.ItemCallback<CartLine> DIFF_CALLBACK = new DiffUtil.ItemCallback<CartLine>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull CartLine oldItem, @NonNull CartLine newItem) {
+            return oldItem.getProductId().equals(newItem.getProductId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull CartLine oldItem, @NonNull CartLine newItem) {
+            return oldItem.getProduct() == newItem.getProduct() && oldItem.getQuantity() == newItem.getQuantity();
+        }
+
+        @Override
+        public Object getChangePayload(@NonNull CartLine oldItem, @NonNull CartLine newItem) {
+            return oldItem.getProduct() == newItem.getProduct() ? QUANTITY_CHANGED : null;
+        }
+    };
+
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        final ImageView productImageView;
+        final TextView productNameTextView;
+        final TextView productPriceTextView;
+        final TextView quantityTextView;
+        final Button increaseButton;
+        final Button decreaseButton;
+
+        ViewHolder(View itemView) {
+            super(itemView);
+            productImageView = itemView.findViewById(R.id.product_imageview);
+            productNameTextView = itemView.findViewById(R.id.product_name_textview);
+            productPriceTextView = itemView.findViewById(R.id.product_price_textview);
+            quantityTextView = itemView.findViewById(R.id.quantity_textview);
+            increaseButton = itemView.findViewById(R.id.increase_button);
+            decreaseButton = itemView.findViewById(R.id.decrease_button);
+        }
+    }
+
+    public CartAdapter() {
+        super(DIFF_CALLBACK);
+    }
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View itemView = LayoutInflater.from(parent.getContext()).inflate(R.layout.cart_item, parent, false);
+        ViewHolder holder = new ViewHolder(itemView);
+        holder.increaseButton.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (position != RecyclerView.NO_POSITION) {
+                Cart.getInstance().increment(getItem(position).getProductId());
+            }
+        });
+        holder.decreaseButton.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (position != RecyclerView.NO_POSITION) {
+                Cart.getInstance().decrement(getItem(position).getProductId());
+            }
+        });
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        CartLine line = getItem(position);
+        Product product = line.getProduct();
+        ImageLoader.getInstance(holder.itemView.getContext()).load(holder.productImageView, product.getImageResource());
+        holder.productNameTextView.setText(product.getName());
+        holder.productPriceTextView.setText(product.getPrice().format());
+        holder.quantityTextView.setText(String.valueOf(line.getQuantity()));
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        holder.quantityTextView.setText(String.valueOf(getItem(position).getQuantity()));
+    }
+}
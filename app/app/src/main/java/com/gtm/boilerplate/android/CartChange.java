@@ -0,0 +1,77 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+/**
+ * Describes a single cart mutation, along with the cart totals right after it.
+ */
+public final class CartChange {
+
+    public enum Type {
+        ADDED,
+        UPDATED,
+        REMOVED,
+        CLEARED
+    }
+
+    private final Type type;
+    private final CartLine line;
+    private final long totalMinorUnits;
+    private final String currencyCode;
+    private final int itemCount;
+    private final int lineCount;
+
+    CartChange(Type type, CartLine line, long totalMinorUnits, String currencyCode, int itemCount, int lineCount) {
+        this.type = type;
+        this.line = line;
+        this.totalMinorUnits = totalMinorUnits;
+        this.currencyCode = currencyCode;
+        this.itemCount = itemCount;
+        this.lineCount = lineCount;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * The line after an ADDED or UPDATED change, or the line that was dropped for
+     * REMOVED. Null for CLEARED.
+     */
+    public CartLine getLine() {
+        return line;
+    }
+
+    public Money getTotal() {
+        return Money.of(totalMinorUnits, currencyCode);
+    }
+
+    public long getTotalMinorUnits() {
+        return totalMinorUnits;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    public boolean isCartEmpty() {
+        return lineCount == 0;
+    }
+}
@@ -0,0 +1,256 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Persists the cart as an append-only journal of mutations in the app's files
+ * directory. Every record stores the resulting quantity of a line, so replaying
+ * any suffix of the journal on top of a snapshot is idempotent. The journal is
+ * periodically compacted into a snapshot. All file I/O runs on a dedicated
+ * thread, and fsync only happens during compaction, never on a tap.
+ */
+public class CartJournal implements Cart.CartListener {
+    private static final String TAG = "CartJournal";
+    private static final String FILE_NAME = "cart.journal";
+    private static final int MAGIC = 0x43415254; // "CART"
+    private static final int VERSION = 1;
+
+    private static final byte OP_ADD = 1;
+    private static final byte OP_UPDATE = 2;
+    private static final byte OP_REMOVE = 3;
+    private static final byte OP_CLEAR = 4;
+
+    private static final int MIN_RECORDS_BEFORE_COMPACTION = 64;
+
+    private static CartJournal instance;
+
+    private final File file;
+    private final File tempFile;
+    private final CatalogRepository catalog;
+    private final Cart cart;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "cart-journal"));
+
+    // Only touched on the journal thread.
+    private DataOutputStream out;
+    private int recordsSinceCompaction;
+    private boolean started;
+    // Set once the saved cart is back in memory. Until then the in-memory cart is
+    // not the whole story, so it must not be compacted over the journal.
+    private volatile boolean restored;
+
+    CartJournal(File directory, CatalogRepository catalog, Cart cart) {
+        this.file = new File(directory, FILE_NAME);
+        this.tempFile = new File(directory, FILE_NAME + ".tmp");
+        this.catalog = catalog;
+        this.cart = cart;
+    }
+
+    public static synchronized CartJournal getInstance(Context context) {
+        if (instance == null) {
+            instance = new CartJournal(context.getFilesDir(), CatalogRepository.getInstance(context), Cart.getInstance());
+        }
+        return instance;
+    }
+
+    /**
+     * Starts journaling cart changes and restores the previous session's cart
+     * once both the journal has been replayed and the catalog is loaded.
+     */
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        // Registered before the replay is queued, so no mutation made while
+        // restoring is missed; the single executor keeps replay ahead of them.
+        cart.addListener(this);
+        executor.execute(() -> {
+            Map<String, Integer> quantities = replay();
+            compact(quantities);
+            catalog.whenLoaded(loadedCatalog -> restore(loadedCatalog, quantities));
+        });
+    }
+
+    @Override
+    public void onCartChanged(CartChange change) {
+        // Runs under the cart lock; only capture what is needed and hand off.
+        CartLine line = change.getLine();
+        byte op;
+        switch (change.getType()) {
+            case ADDED:
+                op = OP_ADD;
+                break;
+            case UPDATED:
+                op = OP_UPDATE;
+                break;
+            case REMOVED:
+                op = OP_REMOVE;
+                break;
+            default:
+                op = OP_CLEAR;
+                break;
+        }
+        String productId = line != null ? line.getProductId() : null;
+        int quantity = line != null && op != OP_REMOVE ? line.getQuantity() : 0;
+        executor.execute(() -> append(op, productId, quantity));
+    }
+
+    private void restore(CatalogRepository loadedCatalog, Map<String, Integer> quantities) {
+        List<CartLine> lines = new ArrayList<>(quantities.size());
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            Product product = loadedCatalog.findById(entry.getKey());
+            if (product == null) {
+                Log.w(TAG, "Dropping unknown product from saved cart: " + entry.getKey());
+                continue;
+            }
+            lines.add(new CartLine(product, entry.getValue()));
+        }
+        cart.restore(lines);
+        restored = true;
+    }
+
+    private Map<String, Integer> replay() {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        if (!file.exists()) {
+            return quantities;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                Log.w(TAG, "Ignoring cart journal with unknown format");
+                return quantities;
+            }
+            while (true) {
+                byte op = in.readByte();
+                if (op == OP_CLEAR) {
+                    quantities.clear();
+                    continue;
+                }
+                String productId = in.readUTF();
+                int quantity = in.readInt();
+                if (op == OP_REMOVE || quantity <= 0) {
+                    quantities.remove(productId);
+                } else {
+                    quantities.put(productId, quantity);
+                }
+            }
+        } catch (EOFException e) {
+            // End of journal, or a record cut short by process death; either way
+            // everything before it is intact.
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to replay cart journal", e);
+        }
+        return quantities;
+    }
+
+    private void append(byte op, String productId, int quantity) {
+        try {
+            if (out == null) {
+                out = openForAppend();
+            }
+            out.writeByte(op);
+            if (op != OP_CLEAR) {
+                out.writeUTF(productId);
+                out.writeInt(quantity);
+            }
+            out.flush();
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to append to cart journal", e);
+            closeQuietly();
+            return;
+        }
+
+        recordsSinceCompaction++;
+        // An empty snapshot is never written from memory: replaying the journal
+        // gives the same result, and it keeps lines the restore had to skip.
+        if (restored && !cart.isEmpty()
+                && recordsSinceCompaction >= Math.max(MIN_RECORDS_BEFORE_COMPACTION, 4 * cart.getLineCount())) {
+            Map<String, Integer> quantities = new LinkedHashMap<>();
+            for (CartLine line : cart.getItems()) {
+                quantities.put(line.getProductId(), line.getQuantity());
+            }
+            compact(quantities);
+        }
+    }
+
+    /** Rewrites the journal as one ADD record per line, then atomically swaps it in. */
+    private void compact(Map<String, Integer> quantities) {
+        closeQuietly();
+        try (FileOutputStream fileOut = new FileOutputStream(tempFile)) {
+            DataOutputStream snapshotOut = new DataOutputStream(new BufferedOutputStream(fileOut));
+            snapshotOut.writeInt(MAGIC);
+            snapshotOut.writeInt(VERSION);
+            for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+                snapshotOut.writeByte(OP_ADD);
+                snapshotOut.writeUTF(entry.getKey());
+                snapshotOut.writeInt(entry.getValue());
+            }
+            snapshotOut.flush();
+            fileOut.getFD().sync();
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to compact cart journal", e);
+            tempFile.delete();
+            return;
+        }
+        if (!tempFile.renameTo(file)) {
+            Log.w(TAG, "Failed to replace cart journal");
+            tempFile.delete();
+            return;
+        }
+        recordsSinceCompaction = 0;
+    }
+
+    private DataOutputStream openForAppend() throws IOException {
+        boolean fresh = !file.exists() || file.length() == 0;
+        DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+        if (fresh) {
+            stream.writeInt(MAGIC);
+            stream.writeInt(VERSION);
+        }
+        return stream;
+    }
+
+    private void closeQuietly() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to close cart journal", e);
+        }
+        out = null;
+    }
+}
@@ -0,0 +1,235 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads the product catalog from {@code assets/catalog.json} on a background
+ * thread and indexes it by id, SKU and category. Until loading finishes every
+ * lookup sees an empty catalog.
+ */
+public class CatalogRepository {
+    private static final String TAG = "CatalogRepository";
+    private static final String CATALOG_ASSET = "catalog.json";
+
+    public interface Callback {
+        void onCatalogLoaded(CatalogRepository catalog);
+    }
+
+    private static final class Index {
+        final List<Product> products;
+        final Map<String, Product> byId;
+        final Map<String, Product> bySku;
+        final Map<String, List<Product>> byCategory;
+
+        Index(List<Product> products) {
+            this.products = Collections.unmodifiableList(products);
+            this.byId = new HashMap<>(products.size() * 2);
+            this.bySku = new HashMap<>(products.size() * 2);
+            Map<String, List<Product>> categories = new HashMap<>();
+            for (Product product : products) {
+                byId.put(product.getId(), product);
+                if (product.getSku() != null) {
+                    bySku.put(product.getSku(), product);
+                }
+                List<Product> category = categories.get(product.getCategory());
+                if (category == null) {
+                    category = new ArrayList<>();
+                    categories.put(product.getCategory(), category);
+                }
+                category.add(product);
+            }
+            for (Map.Entry<String, List<Product>> entry : categories.entrySet()) {
+                entry.setValue(Collections.unmodifiableList(entry.getValue()));
+            }
+            this.byCategory = categories;
+        }
+    }
+
+    private static final Index EMPTY = new Index(new ArrayList<>());
+
+    private static CatalogRepository instance;
+
+    private final Context context;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "catalog-loader"));
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<Callback> pendingCallbacks = new ArrayList<>();
+    private volatile Index index = EMPTY;
+    private volatile boolean loaded;
+    private boolean loadStarted;
+
+    private CatalogRepository(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    public static synchronized CatalogRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new CatalogRepository(context);
+        }
+        return instance;
+    }
+
+    /** Starts loading the catalog in the background if that has not happened yet. */
+    public synchronized void load() {
+        if (loadStarted) {
+            return;
+        }
+        loadStarted = true;
+        executor.execute(() -> {
+            Index loadedIndex;
+            try {
+                loadedIndex = new Index(readCatalog());
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "Failed to load " + CATALOG_ASSET, e);
+                loadedIndex = EMPTY;
+            }
+            publish(loadedIndex);
+        });
+    }
+
+    /**
+     * Runs {@code callback} on the main thread once the catalog is loaded, starting
+     * the load if needed. If it is already loaded the callback is still posted,
+     * never run inline.
+     */
+    public void whenLoaded(Callback callback) {
+        synchronized (this) {
+            if (!loaded) {
+                pendingCallbacks.add(callback);
+                load();
+                return;
+            }
+        }
+        mainHandler.post(() -> callback.onCatalogLoaded(this));
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public List<Product> getProducts() {
+        return index.products;
+    }
+
+    public Product findById(String id) {
+        return index.byId.get(id);
+    }
+
+    public Product findBySku(String sku) {
+        return index.bySku.get(sku);
+    }
+
+    public List<Product> getProductsInCategory(String category) {
+        List<Product> products = index.byCategory.get(category);
+        return products != null ? products : Collections.emptyList();
+    }
+
+    private void publish(Index loadedIndex) {
+        List<Callback> callbacks;
+        synchronized (this) {
+            index = loadedIndex;
+            loaded = true;
+            callbacks = new ArrayList<>(pendingCallbacks);
+            pendingCallbacks.clear();
+        }
+        for (Callback callback : callbacks) {
+            mainHandler.post(() -> callback.onCatalogLoaded(this));
+        }
+    }
+
+    private List<Product> readCatalog() throws IOException {
+        Resources resources = context.getResources();
+        String packageName = context.getPackageName();
+        Map<String, Integer> imageIds = new HashMap<>();
+        // Scoped to this load, so the pool is released once the catalog is built.
+        Interner interner = new Interner();
+        List<Product> products = new ArrayList<>();
+
+        try (JsonReader reader = new JsonReader(new InputStreamReader(
+                context.getAssets().open(CATALOG_ASSET), StandardCharsets.UTF_8))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                String id = null;
+                String name = null;
+                String category = null;
+                long priceMinorUnits = 0;
+                String currency = Money.DEFAULT_CURRENCY;
+                String image = null;
+                String sku = null;
+
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    switch (reader.nextName()) {
+                        case "id":
+                            id = reader.nextString();
+                            break;
+                        case "name":
+                            name = reader.nextString();
+                            break;
+                        case "category":
+                            category = reader.nextString();
+                            break;
+                        case "price_minor_units":
+                            priceMinorUnits = reader.nextLong();
+                            break;
+                        case "currency":
+                            currency = reader.nextString();
+                            break;
+                        case "image":
+                            image = reader.nextString();
+                            break;
+                        case "sku":
+                            sku = reader.nextString();
+                            break;
+                        default:
+                            reader.skipValue();
+                    }
+                }
+                reader.endObject();
+
+                // getIdentifier is slow, so each distinct image name is resolved once.
+                Integer imageResource = imageIds.get(image);
+                if (imageResource == null) {
+                    imageResource = image != null ? resources.getIdentifier(image, "drawable", packageName) : 0;
+                    imageIds.put(image, imageResource);
+                }
+                products.add(new Product(id, name, interner.intern(category), Money.of(priceMinorUnits, currency),
+                        imageResource, interner.intern(sku)));
+            }
+            reader.endArray();
+        }
+        return products;
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+/**
+ * How the dispatcher treats bursts of one event name. Rules only apply to
+ * events dispatched with a coalescing key; plain {@code dispatch} calls are
+ * always sent as-is.
+ */
+public final class CoalescingRule {
+
+    enum Mode {
+        NONE,
+        MERGE_QUANTITY,
+        DEDUPE
+    }
+
+    public static final CoalescingRule NONE = new CoalescingRule(Mode.NONE, 0);
+
+    final Mode mode;
+    final long windowMillis;
+
+    private CoalescingRule(Mode mode, long windowMillis) {
+        this.mode = mode;
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Holds the first event for {@code windowMillis}; events with the same key
+     * arriving meanwhile are folded into it by summing their quantities.
+     */
+    public static CoalescingRule mergeQuantity(long windowMillis) {
+        return new CoalescingRule(Mode.MERGE_QUANTITY, requirePositive(windowMillis));
+    }
+
+    /** Sends the first event for a key and drops repeats for {@code ttlMillis}. */
+    public static CoalescingRule dedupe(long ttlMillis) {
+        return new CoalescingRule(Mode.DEDUPE, requirePositive(ttlMillis));
+    }
+
+    private static long requirePositive(long millis) {
+        if (millis <= 0) {
+            throw new IllegalArgumentException("window must be positive: " + millis);
+        }
+        return millis;
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+/**
+ * Fans each published event out to any number of subscribers. The subscriber
+ * list is a copy-on-write array, so publishing takes no lock and allocates
+ * nothing for {@link #DIRECT} subscribers; other subscribers each get one task
+ * on their own executor, so a slow consumer never blocks the publisher.
+ */
+public final class EventBus<T> {
+    private static final String TAG = "EventBus";
+
+    /** Runs the subscriber inline on the publishing thread. It must be fast and non-blocking. */
+    public static final Executor DIRECT = Runnable::run;
+
+    public interface Subscriber<T> {
+        void onEvent(T event);
+    }
+
+    public interface Subscription {
+        void unsubscribe();
+    }
+
+    private final class Registration implements Subscription {
+        final Executor executor;
+        final Subscriber<? super T> subscriber;
+        volatile boolean active = true;
+
+        Registration(Executor executor, Subscriber<? super T> subscriber) {
+            this.executor = executor;
+            this.subscriber = subscriber;
+        }
+
+        void deliver(T event) {
+            if (executor == DIRECT) {
+                invoke(event);
+            } else {
+                executor.execute(() -> invoke(event));
+            }
+        }
+
+        void invoke(T event) {
+            // An event already handed to the executor is skipped once unsubscribed.
+            if (!active) {
+                return;
+            }
+            try {
+                subscriber.onEvent(event);
+            } catch (RuntimeException e) {
+                Log.w(TAG, "Subscriber failed", e);
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            active = false;
+            remove(this);
+        }
+    }
+
+    private final Object lock = new Object();
+    private volatile Object[] registrations = new Object[0];
+
+    public Subscription subscribe(Executor executor, Subscriber<? super T> subscriber) {
+        Registration registration = new Registration(executor, subscriber);
+        synchronized (lock) {
+            Object[] current = registrations;
+            Object[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = registration;
+            registrations = updated;
+        }
+        return registration;
+    }
+
+    /**
+     * Subscribes for as long as {@code owner} lives. Events are only delivered
+     * while it is at least started, and the subscription ends when it is
+     * destroyed. Must be called on the main thread with a main-thread executor.
+     */
+    public Subscription subscribe(LifecycleOwner owner, Executor mainExecutor, Subscriber<? super T> subscriber) {
+        Lifecycle lifecycle = owner.getLifecycle();
+        Subscription subscription = subscribe(mainExecutor, event -> {
+            if (lifecycle.getCurrentState().isAtLeast(Lifecycle.State.STARTED)) {
+                subscriber.onEvent(event);
+            }
+        });
+        lifecycle.addObserver(new DefaultLifecycleObserver() {
+            @Override
+            public void onDestroy(@NonNull LifecycleOwner source) {
+                subscription.unsubscribe();
+                lifecycle.removeObserver(this);
+            }
+        });
+        return subscription;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void publish(T event) {
+        Object[] current = registrations;
+        for (Object registration : current) {
+            ((Registration) registration).deliver(event);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return registrations.length;
+    }
+
+    private void remove(Registration registration) {
+        synchronized (lock) {
+            Object[] current = registrations;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == registration) {
+                    Object[] updated = new Object[current.length - 1];
+                    System.arraycopy(current, 0, updated, 0, i);
+                    System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                    registrations = updated;
+                    return;
+                }
+            }
+        }
+    }
+}
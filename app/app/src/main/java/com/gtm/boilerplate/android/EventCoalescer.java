@@ -0,0 +1,155 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import android.os.Handler;
+import android.os.SystemClock;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * The coalescing stage in front of sampling and the dispatcher queue. Merged
+ * events are held on {@code handler} until their window closes and are then
+ * handed to the sink; suppressed events never reach it, so their builders never
+ * run.
+ */
+final class EventCoalescer {
+    // Expired dedupe entries are swept once the table grows past this size, and
+    // after that only once it has doubled again, so sweeps stay amortised O(1).
+    private static final int DEDUPE_SWEEP_THRESHOLD = 256;
+
+    interface Sink {
+        void accept(String eventName, String screen, Supplier<AnalyticsEvent> eventBuilder);
+    }
+
+    private static final class PendingMerge {
+        final String screen;
+        long quantity;
+        LongFunction<AnalyticsEvent> eventBuilder;
+
+        PendingMerge(String screen) {
+            this.screen = screen;
+        }
+    }
+
+    private final Handler handler;
+    private final Sink sink;
+    private final Map<String, CoalescingRule> rules = new ConcurrentHashMap<>();
+
+    private final Object lock = new Object();
+    // Both keyed by event name and coalescing key.
+    private final Map<String, PendingMerge> pendingMerges = new HashMap<>();
+    private final Map<String, Long> lastSentAt = new HashMap<>();
+    private int sweepThreshold = DEDUPE_SWEEP_THRESHOLD;
+
+    EventCoalescer(Handler handler, Sink sink) {
+        this.handler = handler;
+        this.sink = sink;
+    }
+
+    void setRule(String eventName, CoalescingRule rule) {
+        rules.put(eventName, rule);
+    }
+
+    CoalescingRule getRule(String eventName) {
+        CoalescingRule rule = rules.get(eventName);
+        return rule != null ? rule : CoalescingRule.NONE;
+    }
+
+    /**
+     * Records that the event with {@code key} is going out. The caller sends it
+     * itself; dedupe runs synchronously, so there is nothing to hold back.
+     *
+     * @return false if the same key was already accepted inside the rule's TTL
+     */
+    boolean acceptOnce(String eventName, String key) {
+        CoalescingRule rule = getRule(eventName);
+        if (rule.mode != CoalescingRule.Mode.DEDUPE) {
+            return true;
+        }
+        long now = SystemClock.uptimeMillis();
+        String slot = slot(eventName, key);
+        synchronized (lock) {
+            Long sentAt = lastSentAt.get(slot);
+            if (sentAt != null && now - sentAt < rule.windowMillis) {
+                return false;
+            }
+            if (lastSentAt.size() >= sweepThreshold) {
+                sweepExpired(now);
+                sweepThreshold = Math.max(DEDUPE_SWEEP_THRESHOLD, 2 * lastSentAt.size());
+            }
+            lastSentAt.put(slot, now);
+        }
+        return true;
+    }
+
+    /**
+     * Holds an event under a {@link CoalescingRule.Mode#MERGE_QUANTITY} rule until
+     * its window closes.
+     *
+     * @return true if a new merge was scheduled, false if the event was merged into a pending one
+     */
+    boolean offerQuantity(String eventName, String key, long quantity, String screen,
+            LongFunction<AnalyticsEvent> eventBuilder) {
+        CoalescingRule rule = getRule(eventName);
+        String slot = slot(eventName, key);
+        synchronized (lock) {
+            PendingMerge pending = pendingMerges.get(slot);
+            boolean merged = pending != null;
+            if (!merged) {
+                pending = new PendingMerge(screen);
+                pendingMerges.put(slot, pending);
+                handler.postDelayed(() -> flush(eventName, slot), rule.windowMillis);
+            }
+            pending.quantity += quantity;
+            // The latest builder wins; they only differ in the state they captured.
+            pending.eventBuilder = eventBuilder;
+            return !merged;
+        }
+    }
+
+    private void flush(String eventName, String slot) {
+        PendingMerge pending;
+        synchronized (lock) {
+            pending = pendingMerges.remove(slot);
+        }
+        if (pending != null) {
+            long quantity = pending.quantity;
+            LongFunction<AnalyticsEvent> eventBuilder = pending.eventBuilder;
+            sink.accept(eventName, pending.screen, () -> eventBuilder.apply(quantity));
+        }
+    }
+
+    private void sweepExpired(long now) {
+        Iterator<Map.Entry<String, Long>> it = lastSentAt.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Long> entry = it.next();
+            String eventName = entry.getKey().substring(0, entry.getKey().indexOf('\u0000'));
+            if (now - entry.getValue() >= getRule(eventName).windowMillis) {
+                it.remove();
+            }
+        }
+    }
+
+    private static String slot(String eventName, String key) {
+        return eventName + '\u0000' + key;
+    }
+}
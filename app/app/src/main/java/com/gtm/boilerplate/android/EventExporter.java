@@ -0,0 +1,181 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.Intent;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.widget.Toast;
+
+import androidx.core.content.FileProvider;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports the spooled event log as NDJSON (one compact JSON object per line), or
+ * the event metrics as JSON, and hands the file to the system share sheet.
+ * Records are streamed straight into the file, so exporting tens of thousands of
+ * events never builds them up in memory.
+ */
+public final class EventExporter {
+    private static final String TAG = "EventExporter";
+    private static final String EXPORT_DIRECTORY = "exports";
+    private static final String NDJSON_MIME_TYPE = "application/x-ndjson";
+    private static final String GZIP_MIME_TYPE = "application/gzip";
+    private static final String JSON_MIME_TYPE = "application/json";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    // An earlier export may still be open in the app it was shared with, so only
+    // exports past this age, or beyond the newest few, are deleted.
+    private static final long STALE_EXPORT_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final int MAX_KEPT_EXPORTS = 8;
+
+    private static final AtomicInteger EXPORT_COUNTER = new AtomicInteger();
+
+    private static final Executor EXPORT_EXECUTOR = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "event-export"));
+
+    private EventExporter() {
+    }
+
+    public static void exportAndShare(Activity activity, boolean gzip) {
+        Context appContext = activity.getApplicationContext();
+        File target = exportFile(appContext, "events", gzip ? ".ndjson.gz" : ".ndjson");
+        String mimeType = gzip ? GZIP_MIME_TYPE : NDJSON_MIME_TYPE;
+        Consumer<File> callback = shareOnMainThread(activity, mimeType);
+        EXPORT_EXECUTOR.execute(() -> {
+            pruneExports(target.getParentFile());
+            EventSpool.getInstance(appContext).exportTo(target, gzip, callback);
+        });
+    }
+
+    /** Writes a JSON snapshot of the dispatcher's event metrics and shares it. */
+    public static void exportMetricsAndShare(Activity activity) {
+        Context appContext = activity.getApplicationContext();
+        EventMetrics metrics = AnalyticsDispatcher.getInstance(appContext).getMetrics();
+        File target = exportFile(appContext, "metrics", ".json");
+        Consumer<File> callback = shareOnMainThread(activity, JSON_MIME_TYPE);
+        EXPORT_EXECUTOR.execute(() -> {
+            pruneExports(target.getParentFile());
+            try (Writer out = openWriter(target, false)) {
+                metrics.writeJson(new JsonWriter(out));
+            } catch (IOException e) {
+                Log.w(TAG, "Failed to export event metrics", e);
+                target.delete();
+                callback.accept(null);
+                return;
+            }
+            callback.accept(target);
+        });
+    }
+
+    private static File exportFile(Context context, String prefix, String extension) {
+        File directory = new File(context.getCacheDir(), EXPORT_DIRECTORY);
+        // Millis plus a counter, so two exports in the same instant never share a file.
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss-SSS", Locale.US).format(new Date());
+        return new File(directory,
+                prefix + "-" + timestamp + "-" + EXPORT_COUNTER.incrementAndGet() + extension);
+    }
+
+    private static void pruneExports(File directory) {
+        File[] exports = directory.listFiles();
+        if (exports == null) {
+            return;
+        }
+        long[] modified = new long[exports.length];
+        Integer[] newestFirst = new Integer[exports.length];
+        for (int i = 0; i < exports.length; i++) {
+            modified[i] = exports[i].lastModified();
+            newestFirst[i] = i;
+        }
+        Arrays.sort(newestFirst, (a, b) -> Long.compare(modified[b], modified[a]));
+        long staleBefore = System.currentTimeMillis() - STALE_EXPORT_MILLIS;
+        for (int rank = 0; rank < newestFirst.length; rank++) {
+            int i = newestFirst[rank];
+            if ((rank >= MAX_KEPT_EXPORTS || modified[i] < staleBefore) && !exports[i].delete()) {
+                Log.w(TAG, "Failed to delete " + exports[i]);
+            }
+        }
+    }
+
+    private static Consumer<File> shareOnMainThread(Activity activity, String mimeType) {
+        WeakReference<Activity> activityRef = new WeakReference<>(activity);
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        return exported -> mainHandler.post(() -> {
+            Activity current = activityRef.get();
+            if (current == null || current.isFinishing()) {
+                return;
+            }
+            if (exported == null) {
+                Toast.makeText(current, "Export failed", Toast.LENGTH_SHORT).show();
+                return;
+            }
+            Uri uri = FileProvider.getUriForFile(current, current.getPackageName() + ".fileprovider", exported);
+            Intent shareIntent = new Intent(Intent.ACTION_SEND);
+            shareIntent.setType(mimeType);
+            shareIntent.putExtra(Intent.EXTRA_STREAM, uri);
+            shareIntent.addFlags(Intent.FLAG_GRANT_READ_URI_PERMISSION);
+            current.startActivity(Intent.createChooser(shareIntent, "Export"));
+        });
+    }
+
+    static Writer openWriter(File target, boolean gzip) throws IOException {
+        File directory = target.getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        OutputStream out = new FileOutputStream(target);
+        try {
+            if (gzip) {
+                out = new GZIPOutputStream(out, WRITE_BUFFER_SIZE);
+            }
+            return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    static void writeNdjsonLine(EventRecord record, Writer out) throws IOException {
+        // JsonWriter writes straight through to out and is not closed, since
+        // closing it would close the export file.
+        record.writeJson(new JsonWriter(out));
+        out.write('\n');
+    }
+}
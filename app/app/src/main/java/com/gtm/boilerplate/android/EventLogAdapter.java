@@ -0,0 +1,78 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Backs the event inspector in the bottom sheet. Only visible rows are bound, and
+ * new snapshots of the event log are diffed off the UI thread so that a new event
+ * shows up as a single insert at the top.
+ */
+public class EventLogAdapter extends ListAdapter<EventRecord, EventLogAdapter.ViewHolder> {
+
+    private static final DiffUtil.ItemCallback<EventRecord> DIFF_CALLBACK = new DiffUtil.ItemCallback<EventRecord>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull EventRecord oldItem, @NonNull EventRecord newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull EventRecord oldItem, @NonNull EventRecord newItem) {
+            // Records are immutable, so the same record always renders the same way.
+            return oldItem == newItem;
+        }
+    };
+
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        final TextView jsonTextView;
+
+        ViewHolder(View itemView) {
+            super(itemView);
+            jsonTextView = (TextView) itemView;
+        }
+    }
+
+    public EventLogAdapter() {
+        super(DIFF_CALLBACK);
+        setHasStableIds(true);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getId();
+    }
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View itemView = LayoutInflater.from(parent.getContext()).inflate(R.layout.event_json_item, parent, false);
+        return new ViewHolder(itemView);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        holder.jsonTextView.setText(getItem(position).toJson());
+    }
+}
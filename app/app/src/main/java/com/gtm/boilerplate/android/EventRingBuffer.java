@@ -0,0 +1,144 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-capacity, lock-free log of the most recent events. Once full, each new
+ * event overwrites the oldest one. Iteration is newest-first.
+ */
+public class EventRingBuffer<T> implements Iterable<T> {
+
+    private static final class Slot<T> {
+        final long sequence;
+        final T value;
+
+        Slot(long sequence, T value) {
+            this.sequence = sequence;
+            this.value = value;
+        }
+    }
+
+    private final int capacity;
+    private final AtomicReferenceArray<Slot<T>> slots;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private volatile long clearedBefore;
+
+    public EventRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void add(T value) {
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+        long sequence = nextSequence.getAndIncrement();
+        slots.set(index(sequence), new Slot<>(sequence, value));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        long end = nextSequence.get();
+        return (int) (end - floor(end));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        // Skip past everything written so far instead of nulling slots, so that
+        // concurrent writers never race with the reset.
+        clearedBefore = nextSequence.get();
+    }
+
+    /** Returns a newest-first copy of the buffer contents. */
+    public List<T> snapshot() {
+        List<T> result = new ArrayList<>(size());
+        for (T value : this) {
+            result.add(value);
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new NewestFirstIterator(nextSequence.get());
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % capacity);
+    }
+
+    private long floor(long end) {
+        return Math.max(clearedBefore, Math.max(0, end - capacity));
+    }
+
+    private final class NewestFirstIterator implements Iterator<T> {
+        private final long floor;
+        private long sequence;
+        private T next;
+
+        NewestFirstIterator(long end) {
+            this.floor = floor(end);
+            this.sequence = end - 1;
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            while (sequence >= floor) {
+                Slot<T> slot = slots.get(index(sequence));
+                sequence--;
+                // A slot either still holds an older generation (writer has not
+                // published yet) or has already been overwritten by a newer one;
+                // both are skipped so the iterator only returns consistent entries.
+                if (slot != null && slot.sequence == sequence + 1) {
+                    next = slot.value;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            T value = next;
+            advance();
+            return value;
+        }
+    }
+}
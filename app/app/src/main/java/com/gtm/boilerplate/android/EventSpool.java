@@ -0,0 +1,333 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the debug event log across process death. {@link #append} only queues
+ * the record in memory; a background thread writes queued records to disk in
+ * batches, either when enough have piled up or on a timer. Records go into
+ * size-capped segment files, and the oldest segments are deleted once the spool
+ * exceeds its disk budget.
+ */
+public class EventSpool {
+    private static final String TAG = "EventSpool";
+    private static final String DIRECTORY_NAME = "event_spool";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".bin";
+
+    private static final int BATCH_SIZE = 32;
+    private static final long FLUSH_INTERVAL_MILLIS = 2000;
+    private static final long MAX_SEGMENT_BYTES = 256 * 1024;
+    private static final long MAX_TOTAL_BYTES = 2 * 1024 * 1024;
+    private static final int MAX_RECORD_BYTES = 1024 * 1024;
+
+    private static EventSpool instance;
+
+    private final File directory;
+    private final ConcurrentLinkedQueue<EventRecord> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            runnable -> new Thread(runnable, "event-spool"));
+
+    // Only touched on the spool thread.
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(512);
+    private final DataOutputStream recordOut = new DataOutputStream(recordBuffer);
+    private File currentSegment;
+    private long nextSegmentNumber;
+
+    EventSpool(File directory) {
+        this.directory = directory;
+        executor.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized EventSpool getInstance(Context context) {
+        if (instance == null) {
+            instance = new EventSpool(new File(context.getFilesDir(), DIRECTORY_NAME));
+        }
+        return instance;
+    }
+
+    /** Queues a record for the next batch. Never touches the disk on the caller's thread. */
+    public void append(EventRecord record) {
+        pending.add(record);
+        if (pendingCount.incrementAndGet() >= BATCH_SIZE && flushScheduled.compareAndSet(false, true)) {
+            executor.execute(this::flush);
+        }
+    }
+
+    /**
+     * Reads back up to {@code limit} of the most recently spooled records on the
+     * spool thread and passes them, oldest first, to {@code callback} on that
+     * thread. Returns at once; on failure the callback gets an empty list.
+     */
+    public void restore(int limit, Consumer<List<EventRecord>> callback) {
+        executor.execute(() -> {
+            List<EventRecord> records;
+            try {
+                records = readLast(limit);
+            } catch (RuntimeException e) {
+                Log.w(TAG, "Failed to restore event spool", e);
+                records = new ArrayList<>();
+            }
+            callback.accept(records);
+        });
+    }
+
+    /**
+     * Writes every spooled record, oldest first, to {@code target} as NDJSON
+     * (optionally gzipped). Pending records are flushed first. Records are
+     * streamed one at a time, so memory use does not grow with the spool size.
+     * {@code callback} runs on the spool thread with the file, or null on failure.
+     */
+    public void exportTo(File target, boolean gzip, Consumer<File> callback) {
+        executor.execute(() -> {
+            flush();
+            try (Writer out = EventExporter.openWriter(target, gzip)) {
+                for (File segment : listSegments()) {
+                    readSegment(segment, record -> EventExporter.writeNdjsonLine(record, out));
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "Failed to export event spool", e);
+                target.delete();
+                callback.accept(null);
+                return;
+            }
+            callback.accept(target);
+        });
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            File segment = segmentForWriting();
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(segment, true)))) {
+                EventRecord record;
+                while ((record = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    recordBuffer.reset();
+                    EventRecordCodec.write(recordOut, record);
+                    out.writeInt(recordBuffer.size());
+                    recordBuffer.writeTo(out);
+                }
+            }
+            enforceDiskBudget();
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to flush event spool", e);
+        }
+    }
+
+    private File segmentForWriting() throws IOException {
+        if (currentSegment == null) {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Cannot create " + directory);
+            }
+            // Each process starts a fresh segment: the last one may end in a record
+            // torn by process death, and anything appended after it would be
+            // unreadable.
+            File[] segments = listSegments();
+            if (segments.length > 0) {
+                nextSegmentNumber = segmentNumber(segments[segments.length - 1]) + 1;
+            }
+        }
+        if (currentSegment == null || currentSegment.length() >= MAX_SEGMENT_BYTES) {
+            currentSegment = new File(directory,
+                    String.format(Locale.US, "%s%019d%s", SEGMENT_PREFIX, nextSegmentNumber++, SEGMENT_SUFFIX));
+        }
+        return currentSegment;
+    }
+
+    private void enforceDiskBudget() {
+        File[] segments = listSegments();
+        long total = 0;
+        for (File segment : segments) {
+            total += segment.length();
+        }
+        for (int i = 0; i < segments.length - 1 && total > MAX_TOTAL_BYTES; i++) {
+            total -= segments[i].length();
+            if (!segments[i].delete()) {
+                Log.w(TAG, "Failed to delete " + segments[i]);
+            }
+        }
+    }
+
+    private List<EventRecord> readLast(int limit) {
+        // Segments are walked newest-first, counting records from their length
+        // prefixes alone, until enough are found. Only the last limit records are
+        // then decoded.
+        File[] segments = listSegments();
+        int first = segments.length;
+        int total = 0;
+        while (first > 0 && total < limit) {
+            total += countRecords(segments[--first]);
+        }
+        List<EventRecord> records = new ArrayList<>(Math.min(total, limit));
+        try {
+            for (int i = first; i < segments.length; i++) {
+                readSegment(segments[i], i == first ? Math.max(0, total - limit) : 0, records::add);
+            }
+        } catch (IOException e) {
+            // Only thrown by the visitor, and this one never throws.
+            throw new AssertionError(e);
+        }
+        return records;
+    }
+
+    private int countRecords(File segment) {
+        // FileInputStream.skip can run past the end of the file, so a record torn
+        // by process death is caught by comparing against the file size instead.
+        long size = segment.length();
+        long position = 0;
+        int count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(segment)))) {
+            while (true) {
+                int length = in.readInt();
+                position += 4 + (long) length;
+                if (length < 0 || length > MAX_RECORD_BYTES || position > size || !skipFully(in, length)) {
+                    return count;
+                }
+                count++;
+            }
+        } catch (EOFException e) {
+            return count;
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to read " + segment.getName(), e);
+            return count;
+        }
+    }
+
+    private void readSegment(File segment, RecordVisitor visitor) throws IOException {
+        readSegment(segment, 0, visitor);
+    }
+
+    /**
+     * Decodes {@code segment} one record at a time, skipping the first
+     * {@code skip} records undecoded. Read errors end the segment early and are
+     * only logged; exceptions thrown by {@code visitor} propagate.
+     */
+    private void readSegment(File segment, int skip, RecordVisitor visitor) throws IOException {
+        DataInputStream in;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(segment)));
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to open " + segment.getName(), e);
+            return;
+        }
+        try {
+            while (true) {
+                EventRecord record;
+                try {
+                    int length = in.readInt();
+                    if (length < 0 || length > MAX_RECORD_BYTES) {
+                        Log.w(TAG, "Corrupt record in " + segment.getName() + ", skipping the rest");
+                        return;
+                    }
+                    if (skip > 0) {
+                        skip--;
+                        if (!skipFully(in, length)) {
+                            return;
+                        }
+                        continue;
+                    }
+                    byte[] payload = new byte[length];
+                    in.readFully(payload);
+                    record = EventRecordCodec.read(new DataInputStream(new ByteArrayInputStream(payload)));
+                } catch (EOFException e) {
+                    // End of segment, or a batch cut short by process death.
+                    return;
+                } catch (IOException e) {
+                    Log.w(TAG, "Failed to read " + segment.getName(), e);
+                    return;
+                }
+                visitor.visit(record);
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    // InputStream.skip may stop short of the end of its buffer, so keep going.
+    private static boolean skipFully(InputStream in, long count) throws IOException {
+        while (count > 0) {
+            long skipped = in.skip(count);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    return false;
+                }
+                skipped = 1;
+            }
+            count -= skipped;
+        }
+        return true;
+    }
+
+    private interface RecordVisitor {
+        void visit(EventRecord record) throws IOException;
+    }
+
+    private File[] listSegments() {
+        File[] segments = directory.listFiles(
+                (dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (segments == null) {
+            return new File[0];
+        }
+        // Zero-padded numbers make name order creation order.
+        Arrays.sort(segments);
+        return segments;
+    }
+
+    private static long segmentNumber(File segment) {
+        String name = segment.getName();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
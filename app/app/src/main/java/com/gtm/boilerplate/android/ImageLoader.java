@@ -0,0 +1,226 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.Log;
+import android.util.LruCache;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads drawable resources into ImageViews off the UI thread. Images are
+ * downsampled to the view's size while decoding and kept in a memory-bounded
+ * LRU cache keyed by resource and size. {@link #load} must be called on the
+ * main thread, which is also the only thread that touches the in-flight table.
+ */
+public final class ImageLoader {
+    private static final String TAG = "ImageLoader";
+    private static final int DECODE_THREADS = 2;
+
+    private static final class Key {
+        int resId;
+        int width;
+        int height;
+
+        Key(int resId, int width, int height) {
+            set(resId, width, height);
+        }
+
+        Key set(int resId, int width, int height) {
+            this.resId = resId;
+            this.width = width;
+            this.height = height;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return resId == other.resId && width == other.width && height == other.height;
+        }
+
+        @Override
+        public int hashCode() {
+            return (resId * 31 + width) * 31 + height;
+        }
+    }
+
+    private static ImageLoader instance;
+
+    private final Resources resources;
+    private final LruCache<Key, Bitmap> cache;
+    private final ExecutorService decodePool;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // Views waiting on each decode, so one decode serves every row showing the image.
+    private final Map<Key, List<WeakReference<ImageView>>> inFlight = new HashMap<>();
+
+    private ImageLoader(Context context) {
+        resources = context.getApplicationContext().getResources();
+
+        int cacheKilobytes = (int) (Runtime.getRuntime().maxMemory() / 1024 / 8);
+        cache = new LruCache<Key, Bitmap>(cacheKilobytes) {
+            @Override
+            protected int sizeOf(Key key, Bitmap bitmap) {
+                return bitmap.getAllocationByteCount() / 1024;
+            }
+        };
+
+        AtomicInteger threadCount = new AtomicInteger();
+        decodePool = Executors.newFixedThreadPool(DECODE_THREADS, runnable -> new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, "image-decode-" + threadCount.incrementAndGet()));
+    }
+
+    public static synchronized ImageLoader getInstance(Context context) {
+        if (instance == null) {
+            instance = new ImageLoader(context);
+        }
+        return instance;
+    }
+
+    /** Shows {@code resId} in {@code view}, decoding it in the background on a cache miss. */
+    public void load(ImageView view, int resId) {
+        Key bound = boundKey(view);
+        if (resId == 0) {
+            bound.set(0, 0, 0);
+            view.setImageDrawable(null);
+            return;
+        }
+        int width = targetWidth(view);
+        int height = targetHeight(view);
+        if (bound.resId == resId && bound.width == width && bound.height == height && view.getDrawable() != null) {
+            return;
+        }
+        bound.set(resId, width, height);
+
+        // The bound key only probes the cache; the maps always get their own copy.
+        Bitmap cached = cache.get(bound);
+        if (cached != null) {
+            view.setImageBitmap(cached);
+            return;
+        }
+        view.setImageDrawable(null);
+
+        List<WeakReference<ImageView>> waiting = inFlight.get(bound);
+        if (waiting != null) {
+            waiting.add(new WeakReference<>(view));
+            return;
+        }
+        Key key = new Key(resId, width, height);
+        waiting = new ArrayList<>(4);
+        waiting.add(new WeakReference<>(view));
+        inFlight.put(key, waiting);
+        decodePool.execute(() -> {
+            Bitmap bitmap = decode(key);
+            mainHandler.post(() -> deliver(key, bitmap));
+        });
+    }
+
+    public void clearCache() {
+        cache.evictAll();
+    }
+
+    // Each view owns one mutable key recording what it should show, so rebinding
+    // a recycled view does not allocate.
+    private static Key boundKey(ImageView view) {
+        Key bound = (Key) view.getTag(R.id.image_loader_request);
+        if (bound == null) {
+            bound = new Key(0, 0, 0);
+            view.setTag(R.id.image_loader_request, bound);
+        }
+        return bound;
+    }
+
+    private void deliver(Key key, Bitmap bitmap) {
+        List<WeakReference<ImageView>> waiting = inFlight.remove(key);
+        if (bitmap == null || waiting == null) {
+            return;
+        }
+        cache.put(key, bitmap);
+        for (WeakReference<ImageView> ref : waiting) {
+            ImageView view = ref.get();
+            // The view may have been rebound to another image while we decoded.
+            if (view != null && key.equals(view.getTag(R.id.image_loader_request))) {
+                view.setImageBitmap(bitmap);
+            }
+        }
+    }
+
+    private Bitmap decode(Key key) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        options.inScaled = false;
+        BitmapFactory.decodeResource(resources, key.resId, options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            Log.w(TAG, "Cannot decode resource " + key.resId);
+            return null;
+        }
+        options.inSampleSize = sampleSize(options.outWidth, options.outHeight, key.width, key.height);
+        options.inJustDecodeBounds = false;
+        return BitmapFactory.decodeResource(resources, key.resId, options);
+    }
+
+    /** Largest power of two that keeps the decoded image at least as big as the target. */
+    static int sampleSize(int width, int height, int targetWidth, int targetHeight) {
+        int sampleSize = 1;
+        while (width / (sampleSize * 2) >= targetWidth && height / (sampleSize * 2) >= targetHeight) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    private int targetWidth(ImageView view) {
+        if (view.getWidth() > 0) {
+            return view.getWidth();
+        }
+        ViewGroup.LayoutParams params = view.getLayoutParams();
+        if (params != null && params.width > 0) {
+            return params.width;
+        }
+        return resources.getDisplayMetrics().widthPixels;
+    }
+
+    private int targetHeight(ImageView view) {
+        if (view.getHeight() > 0) {
+            return view.getHeight();
+        }
+        ViewGroup.LayoutParams params = view.getLayoutParams();
+        if (params != null && params.height > 0) {
+            return params.height;
+        }
+        return resources.getDisplayMetrics().heightPixels;
+    }
+}
@@ -16,19 +16,29 @@
 package com.soteria.firebaseapp.android;
 
 import android.app.Application;
-import java.util.List;
-import java.util.ArrayList;
 
 public class MyApplication extends Application {
 
-    public static List<String> eventJsonList;
+    public static final int EVENT_LOG_CAPACITY = 500;
 
-    static {
-        eventJsonList = new ArrayList<>();
-    }
+    public static final EventRingBuffer<EventRecord> eventLog = new EventRingBuffer<>(EVENT_LOG_CAPACITY);
 
     @Override
     public void onCreate() {
         super.onCreate();
+        // Start parsing the catalog now so it is usually ready before the first frame.
+        CatalogRepository.getInstance(this).load();
+        CartJournal.getInstance(this).start();
+        // Creating the dispatcher also restores the previous session's event log.
+        registerActivityLifecycleCallbacks(new ScreenTracker(AnalyticsDispatcher.getInstance(this).getMetrics()));
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        if (level >= TRIM_MEMORY_BACKGROUND) {
+            // Decoded images are cheap to rebuild compared to being killed in the background.
+            ImageLoader.getInstance(this).clearCache();
+        }
     }
-}
\ No newline at end of file
+}
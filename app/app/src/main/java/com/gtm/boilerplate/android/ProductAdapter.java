@@ -19,34 +19,97 @@ import android.content.Context;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.ArrayAdapter;
+import android.widget.BaseAdapter;
 import android.widget.ImageView;
 import android.widget.TextView;
 
 import java.util.List;
 
-public class ProductAdapter extends ArrayAdapter<Product> {
+/**
+ * Catalog list adapter. Row views are cached in a ViewHolder, and a row that
+ * is rebound to the product it already shows is left untouched, so scrolling
+ * binds allocate nothing once every price has been formatted (Money caches its
+ * formatted text).
+ */
+public class ProductAdapter extends BaseAdapter {
+
+    static final class ViewHolder {
+        final ImageView productImageView;
+        final TextView productNameTextView;
+        final TextView productPriceTextView;
+        Product boundProduct;
+
+        ViewHolder(View itemView) {
+            productImageView = itemView.findViewById(R.id.product_imageview);
+            productNameTextView = itemView.findViewById(R.id.product_name_textview);
+            productPriceTextView = itemView.findViewById(R.id.product_price_textview);
+        }
+    }
+
+    private final LayoutInflater inflater;
+    private final ImageLoader imageLoader;
+    private final List<Product> products;
+    private final long[] ids;
 
     public ProductAdapter(Context context, List<Product> products) {
-        super(context, 0, products);
+        this.inflater = LayoutInflater.from(context);
+        this.imageLoader = ImageLoader.getInstance(context);
+        this.products = products;
+        this.ids = new long[products.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = stableId(products.get(i).getId());
+        }
     }
 
     @Override
-    public View getView(int position, View convertView, ViewGroup parent) {
-        Product product = getItem(position);
+    public int getCount() {
+        return products.size();
+    }
+
+    @Override
+    public Product getItem(int position) {
+        return products.get(position);
+    }
 
+    @Override
+    public long getItemId(int position) {
+        return ids[position];
+    }
+
+    @Override
+    public boolean hasStableIds() {
+        return true;
+    }
+
+    @Override
+    public View getView(int position, View convertView, ViewGroup parent) {
+        ViewHolder holder;
         if (convertView == null) {
-            convertView = LayoutInflater.from(getContext()).inflate(R.layout.product_list_item, parent, false);
+            convertView = inflater.inflate(R.layout.product_list_item, parent, false);
+            holder = new ViewHolder(convertView);
+            convertView.setTag(holder);
+        } else {
+            holder = (ViewHolder) convertView.getTag();
         }
 
-        ImageView productImageView = convertView.findViewById(R.id.product_imageview);
-        TextView productNameTextView = convertView.findViewById(R.id.product_name_textview);
-        TextView productPriceTextView = convertView.findViewById(R.id.product_price_textview);
-
-        productImageView.setImageResource(product.getImageResource());
-        productNameTextView.setText(product.getName());
-        productPriceTextView.setText(String.format("$%.2f", product.getPrice()));
+        Product product = products.get(position);
+        if (holder.boundProduct != product) {
+            holder.productNameTextView.setText(product.getName());
+            holder.productPriceTextView.setText(product.getPrice().format());
+            holder.boundProduct = product;
+        }
+        imageLoader.load(holder.productImageView, product.getImageResource());
 
         return convertView;
     }
+
+    /** 64-bit FNV-1a of the product id; unlike positions, it survives catalog reloads. */
+    static long stableId(String productId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < productId.length(); i++) {
+            hash ^= productId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
 }
@@ -28,80 +28,69 @@ import androidx.appcompat.widget.Toolbar;
 
 import com.google.firebase.analytics.FirebaseAnalytics;
 
-public class ProductDetailsActivity extends AppCompatActivity implements ToolbarAndBottomSheet.EventListener {
+public class ProductDetailsActivity extends AppCompatActivity {
 
-    private FirebaseAnalytics firebaseAnalytics;
+    public static final String EXTRA_PRODUCT_ID = "PRODUCT_ID";
+
+    private AnalyticsDispatcher analyticsDispatcher;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_product_details);
 
-        firebaseAnalytics = FirebaseAnalytics.getInstance(this);
+        analyticsDispatcher = AnalyticsDispatcher.getInstance(this);
 
         ToolbarAndBottomSheet.initializeToolbarAndBottomSheet(this);
 
-        Product product = (Product) getIntent().getSerializableExtra("PRODUCT");
+        String productId = getIntent().getStringExtra(EXTRA_PRODUCT_ID);
+        CatalogRepository catalog = CatalogRepository.getInstance(this);
+        Product product = catalog.findById(productId);
+        if (product != null) {
+            bindProduct(product);
+        } else {
+            // After process death the catalog may still be loading when we are restored.
+            catalog.whenLoaded(loadedCatalog -> {
+                if (isDestroyed()) {
+                    return;
+                }
+                Product loadedProduct = loadedCatalog.findById(productId);
+                if (loadedProduct == null) {
+                    Log.w("ProductDetailsActivity", "Unknown product id: " + productId);
+                    finish();
+                    return;
+                }
+                bindProduct(loadedProduct);
+            });
+        }
+    }
 
+    private void bindProduct(Product product) {
         TextView productNameTextView = findViewById(R.id.product_name_textview);
         productNameTextView.setText(product.getName());
 
         ImageView productImageView = findViewById(R.id.product_imageview);
-        int imageResourceId = product.getImageResource();
-        Log.d("ProductDetailsActivity", "Image resource ID: " + imageResourceId);
-        productImageView.setImageResource(imageResourceId);
+        ImageLoader.getInstance(this).load(productImageView, product.getImageResource());
 
         TextView productPriceTextView = findViewById(R.id.product_price_textview);
-        productPriceTextView.setText("$" + product.getPrice());
+        productPriceTextView.setText(product.getPrice().format());
+
+        analyticsDispatcher.dispatchOnce(FirebaseAnalytics.Event.VIEW_ITEM, product.getId(),
+                () -> EcommerceEvents.viewItem(product));
 
-        Bundle viewItemParams = getViewItemBundle(product);
-        firebaseAnalytics.logEvent(FirebaseAnalytics.Event.VIEW_ITEM, viewItemParams);
-        ToolbarAndBottomSheet.addEventToJsonList(this, FirebaseAnalytics.Event.VIEW_ITEM, viewItemParams);
+        Toolbar toolbar = findViewById(R.id.my_toolbar);
+        ImageView cartIcon = toolbar.findViewById(R.id.cart_icon);
+        Animation bounceAnimation = AnimationUtils.loadAnimation(this, R.anim.bounce);
 
         Button addToCartButton = findViewById(R.id.add_to_cart_button);
         addToCartButton.setOnClickListener(view -> {
-            Product existingProduct = Cart.getInstance().findProduct(product.getId());
+            Cart.getInstance().add(product);
 
-            if (existingProduct != null) {
-                existingProduct.setQuantity(existingProduct.getQuantity() + 1);
-            } else {
-                Cart.getInstance().addItem(product);
-            }
+            // Bursts of taps are merged by the dispatcher into one event with the summed quantity.
+            analyticsDispatcher.dispatchQuantity(FirebaseAnalytics.Event.ADD_TO_CART, product.getId(), 1,
+                    quantity -> EcommerceEvents.addToCart(product, quantity));
 
-            Bundle addToCartParams = getAddToCartBundle(product);
-            firebaseAnalytics.logEvent(FirebaseAnalytics.Event.ADD_TO_CART, addToCartParams);
-            ToolbarAndBottomSheet.addEventToJsonList(this, FirebaseAnalytics.Event.ADD_TO_CART, addToCartParams);
-
-            Toolbar toolbar = findViewById(R.id.my_toolbar);
-            ImageView cartIcon = toolbar.findViewById(R.id.cart_icon);
-
-            Animation bounceAnimation = AnimationUtils.loadAnimation(this, R.anim.bounce);
             cartIcon.startAnimation(bounceAnimation);
         });
     }
-
-    private Bundle getViewItemBundle(Product product) {
-        Bundle bundle = new Bundle();
-        bundle.putString(FirebaseAnalytics.Param.ITEM_ID, product.getId());
-        bundle.putString(FirebaseAnalytics.Param.ITEM_NAME, product.getName());
-        bundle.putString(FirebaseAnalytics.Param.ITEM_CATEGORY, product.getCategory());
-        bundle.putDouble(FirebaseAnalytics.Param.PRICE, product.getPrice());
-        return bundle;
-    }
-
-    private Bundle getAddToCartBundle(Product product) {
-        Bundle bundle = new Bundle();
-        bundle.putString(FirebaseAnalytics.Param.ITEM_ID, product.getId());
-        bundle.putString(FirebaseAnalytics.Param.ITEM_NAME, product.getName());
-        bundle.putString(FirebaseAnalytics.Param.ITEM_CATEGORY, product.getCategory());
-        bundle.putDouble(FirebaseAnalytics.Param.PRICE, product.getPrice());
-        bundle.putLong(FirebaseAnalytics.Param.QUANTITY, 1);
-        return bundle;
-    }
-
-    @Override
-    public void onEvent(String eventName, Bundle params) {
-        String jsonString = ToolbarAndBottomSheet.getDemoJson(eventName, params);
-        MyApplication.eventJsonList.add(0, jsonString);
-    }
 }
\ No newline at end of file
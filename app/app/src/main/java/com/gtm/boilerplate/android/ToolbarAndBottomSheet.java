@@ -17,41 +17,63 @@ package com.soteria.firebaseapp.android;
 
 import android.animation.ValueAnimator;
 import android.content.Intent;
-import android.graphics.Color;
-import android.os.Bundle;
-import android.util.DisplayMetrics;
-import android.util.TypedValue;
+import android.content.res.Configuration;
+import android.os.Build;
 import android.view.View;
 import android.widget.ImageView;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
+import androidx.core.content.ContextCompat;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonObject;
-
-public class ToolbarAndBottomSheet {
-    private static EventListener eventListener;
-
-    public interface EventListener {
-        void onEvent(String eventName, Bundle params);
-    }
+/**
+ * Hosts the toolbar and the debug event sheet of one activity. The sheet's
+ * expanded/stats state and the screen height are shared across activities, so
+ * navigating keeps the sheet as the user left it without re-measuring the
+ * display. Each host lives only as long as its activity's lifecycle, including
+ * its event bus subscription, so no activity outlives its screen.
+ */
+public final class ToolbarAndBottomSheet implements DefaultLifecycleObserver {
+    private static final long ANIMATION_DURATION_MILLIS = 300;
+
+    // Process-wide sheet state; main thread only.
+    private static boolean sheetExpanded;
+    private static boolean metricsVisible;
+    private static int screenHeight;
+    private static int screenHeightOrientation = Configuration.ORIENTATION_UNDEFINED;
+
+    private final AppCompatActivity activity;
+    private final LinearLayout bottomSheet;
+    private final LinearLayout.LayoutParams bottomSheetParams;
+    private final RecyclerView eventJsonRecyclerView;
+    private final EventLogAdapter eventLogAdapter = new EventLogAdapter();
+    private final ImageView arrowIcon;
+    private final TextView metricsTextView;
+    private final int collapsedHeight;
+    private ValueAnimator heightAnimator;
 
-    public static void setEventListener(EventListener listener) {
-        eventListener = listener;
+    public static void initializeToolbarAndBottomSheet(AppCompatActivity activity) {
+        activity.getLifecycle().addObserver(new ToolbarAndBottomSheet(activity));
     }
 
-    public static void initializeToolbarAndBottomSheet(AppCompatActivity activity) {
+    private ToolbarAndBottomSheet(AppCompatActivity activity) {
+        this.activity = activity;
 
         Toolbar toolbar = activity.findViewById(R.id.my_toolbar);
         activity.setSupportActionBar(toolbar);
 
         TextView homeText = toolbar.findViewById(R.id.home_text);
         homeText.setOnClickListener(view -> {
+            // Go back to the existing home screen instead of stacking a new one.
             Intent homeIntent = new Intent(activity, MainActivity.class);
+            homeIntent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_SINGLE_TOP);
             activity.startActivity(homeIntent);
         });
 
@@ -61,115 +83,119 @@ public class ToolbarAndBottomSheet {
             activity.startActivity(cartIntent);
         });
 
-        LinearLayout bottomSheet = activity.findViewById(R.id.bottom_sheet);
-        TextView eventJsonTextView = activity.findViewById(R.id.event_json_textview);
-        ImageView arrowIcon = activity.findViewById(R.id.arrow_icon);
-
-        eventJsonTextView.setVisibility(View.GONE);
-        arrowIcon.setImageResource(R.drawable.down_arrow);
+        bottomSheet = activity.findViewById(R.id.bottom_sheet);
+        bottomSheetParams = (LinearLayout.LayoutParams) bottomSheet.getLayoutParams();
+        eventJsonRecyclerView = activity.findViewById(R.id.event_json_recycler_view);
+        arrowIcon = activity.findViewById(R.id.arrow_icon);
+        metricsTextView = activity.findViewById(R.id.event_metrics_textview);
+        collapsedHeight = activity.getResources().getDimensionPixelSize(R.dimen.debug_sheet_collapsed_height);
 
-        DisplayMetrics displayMetrics = new DisplayMetrics();
-        activity.getWindowManager().getDefaultDisplay().getMetrics(displayMetrics);
-        int screenHeight = displayMetrics.heightPixels;
-
-        int initialBottomSheetHeight = (int) TypedValue.applyDimension(
-                TypedValue.COMPLEX_UNIT_DIP,
-                55,
-                activity.getResources().getDisplayMetrics()
-        );
-
-        LinearLayout.LayoutParams params = (LinearLayout.LayoutParams) bottomSheet.getLayoutParams();
-        params.height = initialBottomSheetHeight;
-        bottomSheet.setLayoutParams(params);
+        eventJsonRecyclerView.setLayoutManager(new LinearLayoutManager(activity));
+        eventJsonRecyclerView.setAdapter(eventLogAdapter);
 
         bottomSheet.setOnClickListener(view -> {
-            if (eventJsonTextView.getVisibility() == View.GONE) {
-                // Expand with animation
-                ValueAnimator animator = ValueAnimator.ofInt(bottomSheet.getHeight(), screenHeight * 4 / 10);
-                animator.addUpdateListener(valueAnimator -> {
-                    int value = (Integer) valueAnimator.getAnimatedValue();
-                    params.height = value;
-                    bottomSheet.setLayoutParams(params);
-                });
-                animator.setDuration(300);
-                animator.start();
-
-                eventJsonTextView.setVisibility(View.VISIBLE);
-                arrowIcon.setImageResource(R.drawable.up_arrow);
-
-                LinearLayout eventJsonWrapper = activity.findViewById(R.id.event_json_wrapper);
-
-                eventJsonWrapper.removeAllViews();
-
-                for (String jsonString : MyApplication.eventJsonList) {
-                    TextView jsonTextView = generateJsonTextView(activity, jsonString);
-                    eventJsonWrapper.addView(jsonTextView);
-                }
-            } else {
-                ValueAnimator animator = ValueAnimator.ofInt(bottomSheet.getHeight(), initialBottomSheetHeight);
-                animator.addUpdateListener(valueAnimator -> {
-                    int value = (Integer) valueAnimator.getAnimatedValue();
-                    params.height = value;
-                    bottomSheet.setLayoutParams(params);
-                });
-                animator.setDuration(300);
-                animator.start();
-
-                eventJsonTextView.setVisibility(View.GONE);
-                arrowIcon.setImageResource(R.drawable.down_arrow);
+            sheetExpanded = !sheetExpanded;
+            if (!sheetExpanded) {
+                metricsVisible = false;
             }
+            applyState(true);
         });
 
-        setEventListener((EventListener) activity);
-    }
-
-    public static void addEventToJsonList(AppCompatActivity activity, String eventName, Bundle params) {
-        if (eventListener != null) {
-            eventListener.onEvent(eventName, params);
-        }
+        // Tap toggles the per-event metrics; long-press exports them as JSON.
+        TextView metricsButton = activity.findViewById(R.id.event_metrics_button);
+        metricsButton.setOnClickListener(view -> {
+            metricsVisible = !metricsVisible;
+            applyState(false);
+        });
+        metricsButton.setOnLongClickListener(view -> {
+            EventExporter.exportMetricsAndShare(activity);
+            return true;
+        });
 
-        LinearLayout eventJsonWrapper = activity.findViewById(R.id.event_json_wrapper);
+        // Tap exports plain NDJSON; long-press exports it gzipped for large logs.
+        TextView exportButton = activity.findViewById(R.id.export_events_button);
+        exportButton.setOnClickListener(view -> EventExporter.exportAndShare(activity, false));
+        exportButton.setOnLongClickListener(view -> {
+            EventExporter.exportAndShare(activity, true);
+            return true;
+        });
 
-        String jsonString = getDemoJson(eventName, params);
-        TextView jsonTextView = generateJsonTextView(activity, jsonString);
+        AnalyticsDispatcher.getInstance(activity).getEventBus()
+                .subscribe(activity, ContextCompat.getMainExecutor(activity), this::showEvent);
+    }
 
-        eventJsonWrapper.addView(jsonTextView);
+    @Override
+    public void onResume(@NonNull LifecycleOwner owner) {
+        // Pick up whatever was logged while another screen was in front.
+        applyState(false);
     }
 
-    public static String getDemoJson(String eventName, Bundle params) {
-        JsonObject jsonObject = new JsonObject();
-        jsonObject.addProperty("event_name", eventName);
-        JsonObject paramsJson = new JsonObject();
-        for (String key : params.keySet()) {
-            paramsJson.addProperty(key, String.valueOf(params.get(key)));
+    @Override
+    public void onDestroy(@NonNull LifecycleOwner owner) {
+        if (heightAnimator != null) {
+            heightAnimator.cancel();
         }
-        jsonObject.add("params", paramsJson);
+        owner.getLifecycle().removeObserver(this);
+    }
 
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        return gson.toJson(jsonObject);
+    private void showEvent(EventRecord record) {
+        if (metricsVisible) {
+            metricsTextView.setText(AnalyticsDispatcher.getInstance(activity).getMetrics().toSummary());
+        }
+        // Nothing is bound while the sheet is collapsed; the next expand picks up
+        // everything logged in the meantime.
+        if (!sheetExpanded) {
+            return;
+        }
+        LinearLayoutManager layoutManager = (LinearLayoutManager) eventJsonRecyclerView.getLayoutManager();
+        boolean atTop = layoutManager.findFirstVisibleItemPosition() <= 0;
+        eventLogAdapter.submitList(MyApplication.eventLog.snapshot(), () -> {
+            if (atTop) {
+                eventJsonRecyclerView.scrollToPosition(0);
+            }
+        });
     }
 
-    public static String getJsonText(AppCompatActivity activity) {
-        StringBuilder sb = new StringBuilder();
-        for (String jsonString : MyApplication.eventJsonList) {
-            sb.append(jsonString + "\n");
+    private void applyState(boolean animate) {
+        int targetHeight = sheetExpanded ? screenHeight(activity) * 4 / 10 : collapsedHeight;
+        if (heightAnimator != null) {
+            heightAnimator.cancel();
+        }
+        if (animate) {
+            heightAnimator = ValueAnimator.ofInt(bottomSheet.getHeight(), targetHeight);
+            heightAnimator.addUpdateListener(valueAnimator -> {
+                bottomSheetParams.height = (Integer) valueAnimator.getAnimatedValue();
+                bottomSheet.setLayoutParams(bottomSheetParams);
+            });
+            heightAnimator.setDuration(ANIMATION_DURATION_MILLIS);
+            heightAnimator.start();
+        } else {
+            bottomSheetParams.height = targetHeight;
+            bottomSheet.setLayoutParams(bottomSheetParams);
+        }
+
+        arrowIcon.setImageResource(sheetExpanded ? R.drawable.up_arrow : R.drawable.down_arrow);
+        eventJsonRecyclerView.setVisibility(sheetExpanded ? View.VISIBLE : View.GONE);
+        metricsTextView.setVisibility(metricsVisible ? View.VISIBLE : View.GONE);
+        if (sheetExpanded) {
+            eventLogAdapter.submitList(MyApplication.eventLog.snapshot());
+        }
+        if (metricsVisible) {
+            metricsTextView.setText(AnalyticsDispatcher.getInstance(activity).getMetrics().toSummary());
         }
-        return sb.toString();
     }
 
-    private static TextView generateJsonTextView(AppCompatActivity activity, String jsonString) {
-        TextView eventJsonTextView = new TextView(activity);
-        LinearLayout.LayoutParams params = new LinearLayout.LayoutParams(
-                LinearLayout.LayoutParams.MATCH_PARENT,
-                LinearLayout.LayoutParams.WRAP_CONTENT
-        );
-        params.setMargins(10, 10, 10, 10);
-        eventJsonTextView.setLayoutParams(params);
-        eventJsonTextView.setText(jsonString);
-        eventJsonTextView.setTextColor(Color.WHITE);
-        eventJsonTextView.setBackgroundColor(Color.parseColor("#1e1628"));
-        eventJsonTextView.setPadding(15, 10, 15, 10);
-        eventJsonTextView.setAlpha(0.7f);
-        return eventJsonTextView;
+    /** Returns the window height, measured once per orientation rather than on every screen. */
+    private static int screenHeight(AppCompatActivity activity) {
+        int orientation = activity.getResources().getConfiguration().orientation;
+        if (screenHeight == 0 || orientation != screenHeightOrientation) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+                screenHeight = activity.getWindowManager().getCurrentWindowMetrics().getBounds().height();
+            } else {
+                screenHeight = activity.getResources().getDisplayMetrics().heightPixels;
+            }
+            screenHeightOrientation = orientation;
+        }
+        return screenHeight;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class EventRingBufferTest {
+
+    @Test
+    public void snapshotIsNewestFirst() {
+        EventRingBuffer<String> buffer = new EventRingBuffer<>(4);
+        buffer.add("a");
+        buffer.add("b");
+        buffer.add("c");
+
+        assertEquals(3, buffer.size());
+        assertEquals(Arrays.asList("c", "b", "a"), buffer.snapshot());
+    }
+
+    @Test
+    public void wrapsAroundKeepingTheNewestCapacityEvents() {
+        EventRingBuffer<Integer> buffer = new EventRingBuffer<>(3);
+        for (int i = 0; i < 10; i++) {
+            buffer.add(i);
+        }
+
+        assertEquals(3, buffer.capacity());
+        assertEquals(3, buffer.size());
+        assertEquals(Arrays.asList(9, 8, 7), buffer.snapshot());
+    }
+
+    @Test
+    public void fillsExactlyToCapacity() {
+        EventRingBuffer<Integer> buffer = new EventRingBuffer<>(3);
+        buffer.add(1);
+        buffer.add(2);
+        buffer.add(3);
+
+        assertEquals(3, buffer.size());
+        assertEquals(Arrays.asList(3, 2, 1), buffer.snapshot());
+
+        buffer.add(4);
+        assertEquals(3, buffer.size());
+        assertEquals(Arrays.asList(4, 3, 2), buffer.snapshot());
+    }
+
+    @Test
+    public void clearEmptiesTheBufferAndKeepsLaterEvents() {
+        EventRingBuffer<String> buffer = new EventRingBuffer<>(3);
+        buffer.add("a");
+        buffer.add("b");
+        buffer.clear();
+
+        assertTrue(buffer.isEmpty());
+        assertEquals(Collections.emptyList(), buffer.snapshot());
+
+        buffer.add("c");
+        assertEquals(1, buffer.size());
+        assertEquals(Collections.singletonList("c"), buffer.snapshot());
+    }
+
+    @Test
+    public void clearAfterWrappingDropsEverythingWritten() {
+        EventRingBuffer<Integer> buffer = new EventRingBuffer<>(2);
+        for (int i = 0; i < 5; i++) {
+            buffer.add(i);
+        }
+        buffer.clear();
+        buffer.add(5);
+
+        assertEquals(Collections.singletonList(5), buffer.snapshot());
+    }
+
+    @Test
+    public void iteratorStopsAtTheEnd() {
+        EventRingBuffer<String> buffer = new EventRingBuffer<>(2);
+        buffer.add("a");
+
+        Iterator<String> it = buffer.iterator();
+        assertEquals("a", it.next());
+        assertFalse(it.hasNext());
+        try {
+            it.next();
+            fail("expected NoSuchElementException");
+        } catch (NoSuchElementException expected) {
+            // Expected.
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveCapacity() {
+        new EventRingBuffer<String>(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void rejectsNullEvents() {
+        new EventRingBuffer<String>(1).add(null);
+    }
+}
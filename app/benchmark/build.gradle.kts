@@ -0,0 +1,39 @@
+plugins {
+    alias(libs.plugins.android.test)
+}
+
+// Microbenchmarks for the analytics and cart hot paths. They run inside the
+// app process against its non-debuggable "benchmark" build type:
+//   ./gradlew :benchmark:connectedBenchmarkAndroidTest
+android {
+    namespace = "com.gtm.boilerplate.android.benchmark"
+    compileSdk = 35
+
+    defaultConfig {
+        minSdk = 24
+        targetSdk = 35
+
+        testInstrumentationRunner = "androidx.benchmark.junit4.AndroidBenchmarkRunner"
+    }
+
+    buildTypes {
+        create("benchmark") {
+            isDebuggable = false
+            signingConfig = signingConfigs.getByName("debug")
+            matchingFallbacks += listOf("release")
+        }
+    }
+
+    targetProjectPath = ":app"
+
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_11
+        targetCompatibility = JavaVersion.VERSION_11
+    }
+}
+
+dependencies {
+    implementation(libs.benchmark.junit4)
+    implementation(libs.ext.junit)
+    implementation(libs.junit)
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Synthetic catalog data shared by the benchmarks. */
+final class BenchmarkProducts {
+    private static final String[] CATEGORIES = {"Apparel", "Shoes", "Accessories", "Electronics"};
+
+    private BenchmarkProducts() {
+    }
+
+    static List<Product> create(int count) {
+        return create(count, 0);
+    }
+
+    /** Like {@link #create(int)}, with product images cycling through {@code imageResources}. */
+    static List<Product> create(int count, int... imageResources) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(new Product(
+                    "product_" + i,
+                    "Product " + i,
+                    CATEGORIES[i % CATEGORIES.length],
+                    Money.ofMinorUnits(499 + (i % 100) * 100),
+                    imageResources[i % imageResources.length],
+                    "SKU-" + i));
+        }
+        return products;
+    }
+
+    static Cart filledCart(List<Product> products) {
+        Cart cart = new Cart();
+        for (Product product : products) {
+            cart.add(product);
+        }
+        return cart;
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.List;
+
+/** Cart lookups, mutations and totals at increasing cart sizes. */
+@RunWith(Parameterized.class)
+public class CartBenchmark {
+
+    @Parameterized.Parameters(name = "size={0}")
+    public static List<Integer> sizes() {
+        return Arrays.asList(1, 10, 100, 1_000, 10_000);
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int size;
+    private List<Product> products;
+    private Cart cart;
+
+    public CartBenchmark(int size) {
+        this.size = size;
+    }
+
+    @Before
+    public void setUp() {
+        products = BenchmarkProducts.create(size);
+        cart = BenchmarkProducts.filledCart(products);
+    }
+
+    @Test
+    public void findLine() {
+        String lastId = products.get(size - 1).getId();
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            cart.findLine(lastId);
+        }
+    }
+
+    @Test
+    public void removeAndAdd() {
+        // Removing the first line and adding it back keeps the cart at a steady size.
+        Product first = products.get(0);
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            cart.remove(first.getId());
+            cart.add(first);
+        }
+    }
+
+    @Test
+    public void incrementAndDecrement() {
+        String lastId = products.get(size - 1).getId();
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            cart.increment(lastId);
+            cart.decrement(lastId);
+        }
+    }
+
+    @Test
+    public void getTotal() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            cart.getTotal();
+        }
+    }
+
+    @Test
+    public void getItemsAfterChange() {
+        String lastId = products.get(size - 1).getId();
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            cart.increment(lastId);
+            cart.getItems();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.os.SystemClock;
+import android.view.View;
+import android.widget.ImageView;
+import android.widget.ListView;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The catalog ListView of a running {@link MainActivity}, filled with synthetic
+ * products. The list is attached to the activity's window, so every bind goes
+ * through the same measure and layout as a real fling. Each product image is
+ * decoded into the image cache before the host is handed out.
+ */
+final class CatalogListHost implements AutoCloseable {
+    static final int PRODUCT_COUNT = 1_000;
+    // Products cycle through real images, so a recycled row usually switches to
+    // another cached bitmap (unless a screen holds a multiple of three rows).
+    private static final int[] IMAGES = {R.drawable.tshirt, R.drawable.shoes, R.drawable.blazer_red};
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    private final ActivityScenario<MainActivity> scenario;
+    private ListView listView;
+    private int rowHeight;
+    private int direction = 1;
+
+    private CatalogListHost(ActivityScenario<MainActivity> scenario) {
+        this.scenario = scenario;
+    }
+
+    static CatalogListHost launch() throws InterruptedException {
+        Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+        Context context = instrumentation.getTargetContext();
+        List<Product> products = BenchmarkProducts.create(PRODUCT_COUNT, IMAGES);
+        for (Product product : products) {
+            product.getPrice().format();
+        }
+
+        CatalogListHost host = new CatalogListHost(ActivityScenario.launch(MainActivity.class));
+        // MainActivity sets the real catalog's adapter once it has loaded; wait
+        // for that callback so it cannot replace ours.
+        CountDownLatch catalogLoaded = new CountDownLatch(1);
+        CatalogRepository.getInstance(context).whenLoaded(catalog -> catalogLoaded.countDown());
+        if (!catalogLoaded.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            host.close();
+            throw new AssertionError("Catalog did not load within " + TIMEOUT_MILLIS + " ms");
+        }
+        host.scenario.onActivity(activity -> {
+            host.listView = activity.findViewById(R.id.product_list_view);
+            host.listView.setAdapter(new ProductAdapter(activity, products));
+        });
+        instrumentation.waitForIdleSync();
+        host.awaitImages();
+        return host;
+    }
+
+    /** Runs {@code action} on the main thread with the activity resumed. */
+    void run(Runnable action) {
+        scenario.onActivity(activity -> action.run());
+    }
+
+    /**
+     * Scrolls the list by one row, turning around at either end. Rows scrolled
+     * into view are rebound from recycled ones. Call it from {@link #run}.
+     */
+    void scrollOneRow() {
+        if (direction > 0 ? listView.getLastVisiblePosition() >= PRODUCT_COUNT - 1
+                : listView.getFirstVisiblePosition() == 0) {
+            direction = -direction;
+        }
+        listView.scrollListBy(direction * rowHeight);
+    }
+
+    @Override
+    public void close() {
+        scenario.close();
+    }
+
+    // The first rows show every image at the size all rows use, so once they have
+    // drawables the cache holds everything the scroll will need.
+    private void awaitImages() {
+        long deadline = SystemClock.uptimeMillis() + TIMEOUT_MILLIS;
+        boolean[] ready = new boolean[1];
+        while (true) {
+            run(() -> {
+                ready[0] = listView.getChildCount() >= IMAGES.length;
+                for (int i = 0; ready[0] && i < IMAGES.length; i++) {
+                    View row = listView.getChildAt(i);
+                    ImageView image = ((ProductAdapter.ViewHolder) row.getTag()).productImageView;
+                    ready[0] = image.getDrawable() != null;
+                }
+                if (ready[0]) {
+                    rowHeight = listView.getChildAt(0).getHeight();
+                }
+            });
+            if (ready[0]) {
+                return;
+            }
+            if (SystemClock.uptimeMillis() > deadline) {
+                close();
+                throw new AssertionError("Images were not decoded within " + TIMEOUT_MILLIS + " ms");
+            }
+            SystemClock.sleep(10);
+        }
+    }
+}
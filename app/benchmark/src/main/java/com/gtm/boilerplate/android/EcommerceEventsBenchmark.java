@@ -0,0 +1,103 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Converting the events the activities log to Bundles. Building the events and
+ * rendering them to JSON is plain Java and is measured by the model's JMH benchmarks.
+ */
+@RunWith(Parameterized.class)
+public class EcommerceEventsBenchmark {
+
+    @Parameterized.Parameters(name = "size={0}")
+    public static List<Integer> sizes() {
+        return Arrays.asList(1, 10, 100, 1_000, 10_000);
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int size;
+    private AnalyticsEvent viewItem;
+    private AnalyticsEvent viewCart;
+    private AnalyticsEvent purchase;
+    private List<AnalyticsEvent> viewItemList;
+
+    public EcommerceEventsBenchmark(int size) {
+        this.size = size;
+    }
+
+    @Before
+    public void setUp() {
+        List<Product> products = BenchmarkProducts.create(size);
+        Cart cart = BenchmarkProducts.filledCart(products);
+        viewItem = EcommerceEvents.viewItem(products.get(size - 1));
+        viewCart = EcommerceEvents.viewCart(cart.getItems(), cart.getTotal());
+        purchase = EcommerceEvents.purchase(cart.getItems(), cart.getTotal(), "benchmark-order");
+        int chunks = EcommerceEvents.viewItemListChunkCount(size);
+        viewItemList = new ArrayList<>(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            viewItemList.add(EcommerceEvents.viewItemList("benchmark", "Benchmark", products, chunk));
+        }
+    }
+
+    @Test
+    public void viewItemToBundle() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            AnalyticsBundles.toBundle(viewItem);
+        }
+    }
+
+    @Test
+    public void viewItemListToBundle() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            for (AnalyticsEvent chunk : viewItemList) {
+                AnalyticsBundles.toBundle(chunk);
+            }
+        }
+    }
+
+    @Test
+    public void viewCartToBundle() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            AnalyticsBundles.toBundle(viewCart);
+        }
+    }
+
+    @Test
+    public void purchaseToBundle() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            AnalyticsBundles.toBundle(purchase);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import android.content.Intent;
+import android.os.Parcel;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cost of handing a product to the details screen. Starting an activity
+ * parcels its Intent, so each run writes the Intent to a Parcel and reads the
+ * product back out, once as an id resolved against the catalog index and once
+ * as the Serializable product the app used to pass.
+ */
+@RunWith(AndroidJUnit4.class)
+public class NavigationBenchmark {
+    private static final String EXTRA_PRODUCT = "PRODUCT";
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private Product product;
+    private Map<String, Product> byId;
+
+    /** Mirrors the fields Product and Money carried when they were Serializable. */
+    private static final class SerializableProduct implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final String id;
+        final String name;
+        final String category;
+        final SerializableMoney price;
+        final int imageResource;
+        final String sku;
+
+        SerializableProduct(Product product) {
+            this.id = product.getId();
+            this.name = product.getName();
+            this.category = product.getCategory();
+            this.price = new SerializableMoney(product.getPrice());
+            this.imageResource = product.getImageResource();
+            this.sku = product.getSku();
+        }
+    }
+
+    private static final class SerializableMoney implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final long minorUnits;
+        final String currencyCode;
+
+        SerializableMoney(Money money) {
+            this.minorUnits = money.getMinorUnits();
+            this.currencyCode = money.getCurrencyCode();
+        }
+    }
+
+    @Before
+    public void setUp() {
+        List<Product> products = BenchmarkProducts.create(1_000);
+        byId = new HashMap<>();
+        for (Product each : products) {
+            byId.put(each.getId(), each);
+        }
+        product = products.get(products.size() / 2);
+    }
+
+    @Test
+    public void productIdExtra() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            Intent intent = new Intent();
+            intent.putExtra(ProductDetailsActivity.EXTRA_PRODUCT_ID, product.getId());
+            Intent received = roundTrip(intent);
+            byId.get(received.getStringExtra(ProductDetailsActivity.EXTRA_PRODUCT_ID));
+        }
+    }
+
+    @Test
+    public void serializableProductExtra() {
+        BenchmarkState state = benchmarkRule.getState();
+        SerializableProduct serializable = new SerializableProduct(product);
+        while (state.keepRunning()) {
+            Intent intent = new Intent();
+            intent.putExtra(EXTRA_PRODUCT, serializable);
+            Intent received = roundTrip(intent);
+            received.getSerializableExtra(EXTRA_PRODUCT);
+        }
+    }
+
+    private static Intent roundTrip(Intent intent) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            intent.writeToParcel(parcel, 0);
+            parcel.setDataPosition(0);
+            Intent received = Intent.CREATOR.createFromParcel(parcel);
+            received.setExtrasClassLoader(NavigationBenchmark.class.getClassLoader());
+            return received;
+        } finally {
+            parcel.recycle();
+        }
+    }
+}
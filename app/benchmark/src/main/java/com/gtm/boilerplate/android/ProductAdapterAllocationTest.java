@@ -0,0 +1,74 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import static org.junit.Assert.assertTrue;
+
+import android.os.Debug;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Guards the catalog scroll against allocation regressions, such as decoding
+ * images or formatting prices again on every bind. Kept apart from the
+ * microbenchmarks so a device whose framework allocates more while laying out
+ * text fails only this check. The budget is an average over many rows of
+ * everything the process allocates, not a promise of zero.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ProductAdapterAllocationTest {
+    private static final int WARMUP_ROWS = 500;
+    private static final int MEASURED_ROWS = 5_000;
+    private static final long MAX_BYTES_PER_ROW = 2048;
+
+    private CatalogListHost host;
+
+    @Before
+    public void setUp() throws InterruptedException {
+        host = CatalogListHost.launch();
+    }
+
+    @After
+    public void tearDown() {
+        host.close();
+    }
+
+    @Test
+    public void scrollingStaysWithinTheAllocationBudget() {
+        long[] bytesPerRow = new long[1];
+        host.run(() -> {
+            for (int i = 0; i < WARMUP_ROWS; i++) {
+                host.scrollOneRow();
+            }
+            long before = bytesAllocated();
+            for (int i = 0; i < MEASURED_ROWS; i++) {
+                host.scrollOneRow();
+            }
+            bytesPerRow[0] = (bytesAllocated() - before) / MEASURED_ROWS;
+        });
+        assertTrue("Scrolling allocated " + bytesPerRow[0] + " bytes per row, budget is " + MAX_BYTES_PER_ROW,
+                bytesPerRow[0] <= MAX_BYTES_PER_ROW);
+    }
+
+    private static long bytesAllocated() {
+        return Long.parseLong(Debug.getRuntimeStat("art.gc.bytes-allocated"));
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Steady-state cost of scrolling the catalog one row at a time in a running
+ * activity. Each step rebinds a recycled row, switches it to another cached
+ * image, and measures and lays it out. BenchmarkRule reports the allocations
+ * per step alongside the time; {@link ProductAdapterAllocationTest} holds them
+ * to a budget.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ProductAdapterBenchmark {
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private CatalogListHost host;
+
+    @Before
+    public void setUp() throws InterruptedException {
+        host = CatalogListHost.launch();
+    }
+
+    @After
+    public void tearDown() {
+        host.close();
+    }
+
+    @Test
+    public void scrollOneRow() {
+        host.run(() -> {
+            BenchmarkState state = benchmarkRule.getState();
+            while (state.keepRunning()) {
+                host.scrollOneRow();
+            }
+        });
+    }
+}
@@ -0,0 +1,27 @@
+plugins {
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+// Android-free event and cart model. Everything here runs on a plain JVM, so it
+// can be unit tested and benchmarked on a build host:
+//   ./gradlew :model:jmh
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+// Sources must compile the same on hosts whose default locale is C or POSIX.
+tasks.withType<JavaCompile> {
+    options.encoding = "UTF-8"
+}
+
+dependencies {
+    api("com.google.code.gson:gson:2.10.1")
+
+    testImplementation(libs.junit)
+}
+
+jmh {
+    profilers.add("gc")
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Host-side benchmarks for building ecommerce events and rendering them to JSON.
+ * Run with {@code ./gradlew :model:jmh}; the gc profiler reports allocation per op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventModelBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int size;
+
+    private List<Product> products;
+    private List<CartLine> lines;
+    private Money total;
+    private AnalyticsEvent purchase;
+
+    @Setup
+    public void setUp() {
+        products = new ArrayList<>(size);
+        lines = new ArrayList<>(size);
+        long totalMinorUnits = 0;
+        for (int i = 0; i < size; i++) {
+            Product product = new Product("product_" + i, "Product " + i, "Category " + (i % 4),
+                    Money.ofMinorUnits(499 + (i % 100) * 100), 0, "SKU-" + i);
+            CartLine line = new CartLine(product, 1 + i % 3);
+            products.add(product);
+            lines.add(line);
+            totalMinorUnits += line.getTotalMinorUnits();
+        }
+        total = Money.ofMinorUnits(totalMinorUnits);
+        purchase = EcommerceEvents.purchase(lines, total, "benchmark-order");
+    }
+
+    @Benchmark
+    public AnalyticsEvent viewItem() {
+        return EcommerceEvents.viewItem(products.get(size - 1));
+    }
+
+    @Benchmark
+    public AnalyticsEvent addToCart() {
+        return EcommerceEvents.addToCart(products.get(size - 1), 1);
+    }
+
+    @Benchmark
+    public AnalyticsEvent viewCart() {
+        return EcommerceEvents.viewCart(lines, total);
+    }
+
+    @Benchmark
+    public AnalyticsEvent purchase() {
+        return EcommerceEvents.purchase(lines, total, "benchmark-order");
+    }
+
+    @Benchmark
+    public AnalyticsEvent viewItemListFirstChunk() {
+        return EcommerceEvents.viewItemList("benchmark", "Benchmark", products, 0);
+    }
+
+    @Benchmark
+    public long cartTotal() {
+        long totalMinorUnits = 0;
+        for (CartLine line : lines) {
+            totalMinorUnits += line.getTotalMinorUnits();
+        }
+        return totalMinorUnits;
+    }
+
+    @Benchmark
+    public String purchaseJson() {
+        // A fresh record each time, since records cache their rendered JSON.
+        return EventRecord.fromEvent(purchase, 0).toJson();
+    }
+
+    @Benchmark
+    public String formatTotal() {
+        return Money.ofMinorUnits(total.getMinorUnits() + 1).format();
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An analytics event independent of the Android SDK: a name, scalar params and
+ * an optional items array. Param values are limited to String, Long, Double and
+ * Boolean, the types a Bundle-based logger accepts.
+ */
+public final class AnalyticsEvent {
+    private final String name;
+    private final Map<String, Object> params;
+    private final List<EventItem> items;
+
+    private AnalyticsEvent(Builder builder) {
+        this.name = builder.name;
+        this.params = Collections.unmodifiableMap(builder.params);
+        this.items = Collections.unmodifiableList(builder.items);
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, Object> getParams() {
+        return params;
+    }
+
+    public List<EventItem> getItems() {
+        return items;
+    }
+
+    public static final class Builder {
+        private final String name;
+        private final Map<String, Object> params = new LinkedHashMap<>();
+        private List<EventItem> items = Collections.emptyList();
+
+        private Builder(String name) {
+            if (name == null) {
+                throw new NullPointerException("name");
+            }
+            this.name = name;
+        }
+
+        public Builder param(String key, String value) {
+            params.put(key, value);
+            return this;
+        }
+
+        public Builder param(String key, long value) {
+            params.put(key, value);
+            return this;
+        }
+
+        public Builder param(String key, double value) {
+            params.put(key, value);
+            return this;
+        }
+
+        public Builder param(String key, boolean value) {
+            params.put(key, value);
+            return this;
+        }
+
+        public Builder item(EventItem item) {
+            if (items.isEmpty()) {
+                items = new ArrayList<>();
+            }
+            items.add(item);
+            return this;
+        }
+
+        /** Takes ownership of {@code items}; the caller must not modify it afterwards. */
+        public Builder items(List<EventItem> items) {
+            this.items = items;
+            return this;
+        }
+
+        public AnalyticsEvent build() {
+            return new AnalyticsEvent(this);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+/**
+ * An immutable line in the cart: a product and how many of it were added. The
+ * cart replaces a line rather than mutating it, so lines can be read from any
+ * thread.
+ */
+public final class CartLine {
+    private final Product product;
+    private final int quantity;
+
+    public CartLine(Product product, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("quantity must be positive: " + quantity);
+        }
+        this.product = product;
+        this.quantity = quantity;
+    }
+
+    public Product getProduct() {
+        return product;
+    }
+
+    public String getProductId() {
+        return product.getId();
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public long getTotalMinorUnits() {
+        return Math.multiplyExact(product.getPrice().getMinorUnits(), quantity);
+    }
+
+    CartLine withQuantity(int newQuantity) {
+        return new CartLine(product, newQuantity);
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the ecommerce events for every screen from one place. Each product's
+ * item fields are mapped once and cached on the product; events only overlay a
+ * quantity or index on that shared payload.
+ */
+public final class EcommerceEvents {
+    public static final String AFFILIATION = "Store Name";
+
+    /** GA4 accepts at most this many items in a single event's items array. */
+    public static final int MAX_ITEMS_PER_EVENT = 200;
+
+    private EcommerceEvents() {
+    }
+
+    public static AnalyticsEvent viewItem(Product product) {
+        return itemEvent(EventSchema.Event.VIEW_ITEM, product).build();
+    }
+
+    public static AnalyticsEvent addToCart(Product product, long quantity) {
+        return itemEvent(EventSchema.Event.ADD_TO_CART, product)
+                .param(EventSchema.Param.QUANTITY, quantity)
+                .build();
+    }
+
+    /** Number of view_item_list events needed to report {@code itemCount} items. */
+    public static int viewItemListChunkCount(int itemCount) {
+        return (itemCount + MAX_ITEMS_PER_EVENT - 1) / MAX_ITEMS_PER_EVENT;
+    }
+
+    /**
+     * Builds the view_item_list event for one chunk of {@code products}. Each item
+     * carries its position in the whole list, so chunks can be stitched back
+     * together in reporting.
+     */
+    public static AnalyticsEvent viewItemList(String listId, String listName, List<Product> products, int chunk) {
+        int from = chunk * MAX_ITEMS_PER_EVENT;
+        int to = Math.min(products.size(), from + MAX_ITEMS_PER_EVENT);
+
+        List<EventItem> items = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            items.add(EventItem.of(products.get(i), EventItem.NOT_SET, i));
+        }
+
+        return AnalyticsEvent.builder(EventSchema.Event.VIEW_ITEM_LIST)
+                .param(EventSchema.Param.ITEM_LIST_ID, listId)
+                .param(EventSchema.Param.ITEM_LIST_NAME, listName)
+                .items(items)
+                .build();
+    }
+
+    public static AnalyticsEvent viewCart(List<CartLine> lines, Money cartTotal) {
+        return AnalyticsEvent.builder(EventSchema.Event.VIEW_CART)
+                .param(EventSchema.Param.VALUE, cartTotal.toMajorUnits())
+                .param(EventSchema.Param.CURRENCY, cartTotal.getCurrencyCode())
+                .items(items(lines))
+                .build();
+    }
+
+    public static AnalyticsEvent purchase(List<CartLine> lines, Money cartTotal, String transactionId) {
+        return AnalyticsEvent.builder(EventSchema.Event.PURCHASE)
+                .param(EventSchema.Param.TRANSACTION_ID, transactionId)
+                .param(EventSchema.Param.AFFILIATION, AFFILIATION)
+                .param(EventSchema.Param.VALUE, cartTotal.toMajorUnits())
+                .param(EventSchema.Param.CURRENCY, cartTotal.getCurrencyCode())
+                .items(items(lines))
+                .build();
+    }
+
+    // Single-product events carry the item fields as top-level params.
+    private static AnalyticsEvent.Builder itemEvent(String eventName, Product product) {
+        ItemPayload item = EventItem.of(product).getPayload();
+        return AnalyticsEvent.builder(eventName)
+                .param(EventSchema.Param.ITEM_ID, item.getId())
+                .param(EventSchema.Param.ITEM_NAME, item.getName())
+                .param(EventSchema.Param.ITEM_CATEGORY, item.getCategory())
+                .param(EventSchema.Param.PRICE, item.getPrice())
+                .param(EventSchema.Param.ITEM_VARIANT, item.getVariant());
+    }
+
+    private static List<EventItem> items(List<CartLine> lines) {
+        List<EventItem> items = new ArrayList<>(lines.size());
+        for (CartLine line : lines) {
+            items.add(EventItem.of(line.getProduct(), line.getQuantity(), EventItem.NOT_SET));
+        }
+        return items;
+    }
+}
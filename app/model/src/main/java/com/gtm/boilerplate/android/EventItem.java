@@ -0,0 +1,108 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One entry of an event's items array: a product's shared {@link ItemPayload}
+ * plus an optional quantity and index, which are unset when {@link #NOT_SET}.
+ */
+public final class EventItem {
+    public static final long NOT_SET = -1;
+
+    private final ItemPayload payload;
+    private final long quantity;
+    private final long index;
+
+    public EventItem(String id, String name, String category, double price, String variant) {
+        this(new ItemPayload(id, name, category, price, variant), NOT_SET, NOT_SET);
+    }
+
+    EventItem(ItemPayload payload, long quantity, long index) {
+        this.payload = payload;
+        this.quantity = quantity;
+        this.index = index;
+    }
+
+    /** Returns the product's cached item, with no quantity or index. */
+    public static EventItem of(Product product) {
+        return product.getEventItem();
+    }
+
+    /** Overlays {@code quantity} and {@code index} on the product's cached payload. */
+    public static EventItem of(Product product, long quantity, long index) {
+        return new EventItem(product.getEventItem().payload, quantity, index);
+    }
+
+    public EventItem withQuantity(long quantity) {
+        return new EventItem(payload, quantity, index);
+    }
+
+    public EventItem withIndex(long index) {
+        return new EventItem(payload, quantity, index);
+    }
+
+    public ItemPayload getPayload() {
+        return payload;
+    }
+
+    public String getId() {
+        return payload.getId();
+    }
+
+    public String getName() {
+        return payload.getName();
+    }
+
+    public String getCategory() {
+        return payload.getCategory();
+    }
+
+    public double getPrice() {
+        return payload.getPrice();
+    }
+
+    public String getVariant() {
+        return payload.getVariant();
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    /** Returns the item as GA4 params, in the same shape the event log stores. */
+    public Map<String, Object> toParams() {
+        Map<String, Object> params = new LinkedHashMap<>(8);
+        params.put(EventSchema.Param.ITEM_ID, payload.getId());
+        params.put(EventSchema.Param.ITEM_NAME, payload.getName());
+        params.put(EventSchema.Param.ITEM_CATEGORY, payload.getCategory());
+        params.put(EventSchema.Param.PRICE, payload.getPrice());
+        params.put(EventSchema.Param.ITEM_VARIANT, payload.getVariant());
+        if (quantity != NOT_SET) {
+            params.put(EventSchema.Param.QUANTITY, quantity);
+        }
+        if (index != NOT_SET) {
+            params.put(EventSchema.Param.INDEX, index);
+        }
+        return params;
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-event-name counters, latencies and payload sizes for the analytics
+ * pipeline, plus how many events each screen emitted. Recording is lock-free
+ * and allocates only the first time a name or screen is seen.
+ */
+public final class EventMetrics {
+    public static final String UNKNOWN_SCREEN = "unknown";
+
+    private final ConcurrentMap<String, EventStats> statsByName = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> eventsByScreen = new ConcurrentHashMap<>();
+    private volatile String currentScreen = UNKNOWN_SCREEN;
+
+    public void setCurrentScreen(String screen) {
+        currentScreen = screen;
+    }
+
+    public String getCurrentScreen() {
+        return currentScreen;
+    }
+
+    public void recordQueued(String eventName, String screen) {
+        stats(eventName).recordQueued();
+        AtomicLong counter = eventsByScreen.get(screen);
+        if (counter == null) {
+            counter = eventsByScreen.computeIfAbsent(screen, key -> new AtomicLong());
+        }
+        counter.incrementAndGet();
+    }
+
+    public void recordDropped(String eventName) {
+        stats(eventName).recordDropped();
+    }
+
+    public void recordCoalesced(String eventName) {
+        stats(eventName).recordCoalesced();
+    }
+
+    public void recordSampledOut(String eventName) {
+        stats(eventName).recordSampledOut();
+    }
+
+    public void recordDelivered(String eventName, long queueNanos, long buildNanos, long dispatchNanos,
+            int payloadBytes) {
+        stats(eventName).recordDelivered(queueNanos, buildNanos, dispatchNanos, payloadBytes);
+    }
+
+    /** Returns the live stats of every event name seen so far, sorted by name. */
+    public List<EventStats> getStats() {
+        return new ArrayList<>(new TreeMap<>(statsByName).values());
+    }
+
+    /** Returns how many events each screen has dispatched, sorted by screen name. */
+    public Map<String, Long> getEventsByScreen() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Map.Entry<String, AtomicLong> entry : eventsByScreen.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().get());
+        }
+        return counts;
+    }
+
+    /** Renders a compact plain-text report for the debug sheet. */
+    public String toSummary() {
+        StringBuilder sb = new StringBuilder();
+        for (EventStats stats : getStats()) {
+            sb.append(stats.getEventName())
+                    .append(": sent ").append(stats.getDeliveredCount())
+                    .append('/').append(stats.getQueuedCount())
+                    .append(", dropped ").append(stats.getDroppedCount())
+                    .append(", coalesced ").append(stats.getCoalescedCount())
+                    .append(", sampled out ").append(stats.getSampledOutCount())
+                    .append('\n');
+            appendLatency(sb, "  build", stats.getBuildLatency());
+            appendLatency(sb, "  dispatch", stats.getDispatchLatency());
+            appendLatency(sb, "  queue", stats.getQueueLatency());
+            sb.append("  payload avg ").append(stats.getMeanPayloadBytes())
+                    .append(" B, max ").append(stats.getMaxPayloadBytes()).append(" B\n");
+        }
+        Map<String, Long> screens = getEventsByScreen();
+        if (!screens.isEmpty()) {
+            sb.append("events per screen\n");
+            for (Map.Entry<String, Long> entry : screens.entrySet()) {
+                sb.append("  ").append(entry.getKey()).append(": ").append(entry.getValue()).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    public void writeJson(JsonWriter writer) throws IOException {
+        writer.beginObject();
+        writer.name("events").beginArray();
+        for (EventStats stats : getStats()) {
+            writer.beginObject();
+            writer.name("event_name").value(stats.getEventName());
+            writer.name("queued").value(stats.getQueuedCount());
+            writer.name("delivered").value(stats.getDeliveredCount());
+            writer.name("dropped").value(stats.getDroppedCount());
+            writer.name("coalesced").value(stats.getCoalescedCount());
+            writer.name("sampled_out").value(stats.getSampledOutCount());
+            writer.name("payload_bytes_mean").value(stats.getMeanPayloadBytes());
+            writer.name("payload_bytes_max").value(stats.getMaxPayloadBytes());
+            writeLatency(writer, "queue_latency", stats.getQueueLatency());
+            writeLatency(writer, "build_latency", stats.getBuildLatency());
+            writeLatency(writer, "dispatch_latency", stats.getDispatchLatency());
+            writer.endObject();
+        }
+        writer.endArray();
+        writer.name("events_by_screen").beginObject();
+        for (Map.Entry<String, Long> entry : getEventsByScreen().entrySet()) {
+            writer.name(entry.getKey()).value(entry.getValue());
+        }
+        writer.endObject();
+        writer.endObject();
+    }
+
+    /**
+     * Approximates the logged payload as the UTF-8 size of its keys and values,
+     * counting numbers and booleans at their primitive width.
+     */
+    public static int estimatePayloadBytes(AnalyticsEvent event) {
+        int bytes = 0;
+        for (Map.Entry<String, Object> entry : event.getParams().entrySet()) {
+            bytes += entry.getKey().length() + valueBytes(entry.getValue());
+        }
+        for (EventItem item : event.getItems()) {
+            bytes += length(item.getId()) + length(item.getName()) + length(item.getCategory())
+                    + length(item.getVariant()) + Double.BYTES;
+            if (item.getQuantity() != EventItem.NOT_SET) {
+                bytes += Long.BYTES;
+            }
+            if (item.getIndex() != EventItem.NOT_SET) {
+                bytes += Long.BYTES;
+            }
+        }
+        return bytes;
+    }
+
+    private EventStats stats(String eventName) {
+        EventStats stats = statsByName.get(eventName);
+        if (stats == null) {
+            stats = statsByName.computeIfAbsent(eventName, EventStats::new);
+        }
+        return stats;
+    }
+
+    private static int valueBytes(Object value) {
+        if (value instanceof Long || value instanceof Double) {
+            return Long.BYTES;
+        }
+        if (value instanceof Boolean) {
+            return 1;
+        }
+        return value == null ? 0 : length(value.toString());
+    }
+
+    private static int length(String value) {
+        // ASCII is the norm for analytics params, so chars approximate bytes well.
+        return value == null ? 0 : value.length();
+    }
+
+    private static void appendLatency(StringBuilder sb, String label, LatencyHistogram histogram) {
+        sb.append(label)
+                .append(" p50 ").append(histogram.getPercentileMicros(50))
+                .append(" us, p99 ").append(histogram.getPercentileMicros(99))
+                .append(" us, max ").append(histogram.getMaxMicros())
+                .append(" us\n");
+    }
+
+    private static void writeLatency(JsonWriter writer, String name, LatencyHistogram histogram)
+            throws IOException {
+        writer.name(name).beginObject();
+        writer.name("count").value(histogram.getCount());
+        writer.name("mean_us").value(histogram.getMeanMicros());
+        writer.name("p50_us").value(histogram.getPercentileMicros(50));
+        writer.name("p90_us").value(histogram.getPercentileMicros(90));
+        writer.name("p99_us").value(histogram.getPercentileMicros(99));
+        writer.name("max_us").value(histogram.getMaxMicros());
+        writer.endObject();
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * A FIFO queue of pending events with a capacity and a priority-aware overflow
+ * policy. Critical events do not count towards the capacity, so they are never
+ * refused or evicted. Not thread-safe; callers synchronize.
+ */
+public final class EventQueue<T> {
+
+    /**
+     * What happens when the queue is full. Under either policy the oldest
+     * {@link SamplingRule.Priority#LOW} event is evicted first to make room for a
+     * more important one, and critical events are never evicted.
+     */
+    public enum OverflowPolicy {
+        /** Evict the oldest queued event to make room for the new one. */
+        DROP_OLDEST,
+        /** Reject the new event and keep what is already queued. */
+        DROP_NEWEST
+    }
+
+    private static final class Entry<T> {
+        final T event;
+        final SamplingRule.Priority priority;
+
+        Entry(T event, SamplingRule.Priority priority) {
+            this.event = event;
+            this.priority = priority;
+        }
+    }
+
+    private final ArrayDeque<Entry<T>> entries = new ArrayDeque<>();
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private int boundedCount;
+
+    public EventQueue(int capacity, OverflowPolicy overflowPolicy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Adds {@code event} to the tail, evicting a queued event first if the queue
+     * is full.
+     *
+     * @return the event that was dropped: null if none, a previously queued event
+     *     if one was evicted, or {@code event} itself if it was refused
+     */
+    public T offer(T event, SamplingRule.Priority priority) {
+        Entry<T> incoming = new Entry<>(event, priority);
+        Entry<T> dropped = null;
+        if (priority != SamplingRule.Priority.CRITICAL && boundedCount >= capacity) {
+            dropped = evict(incoming);
+        }
+        if (dropped == incoming) {
+            return event;
+        }
+        entries.addLast(incoming);
+        if (priority != SamplingRule.Priority.CRITICAL) {
+            boundedCount++;
+        }
+        return dropped != null ? dropped.event : null;
+    }
+
+    /** Removes and returns the oldest event, or null if the queue is empty. */
+    public T poll() {
+        Entry<T> entry = entries.pollFirst();
+        if (entry == null) {
+            return null;
+        }
+        if (entry.priority != SamplingRule.Priority.CRITICAL) {
+            boundedCount--;
+        }
+        return entry.event;
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Makes room for a non-critical event and returns what was dropped: the
+    // oldest LOW event if there is one and the new event outranks it or the
+    // policy drops the oldest, else the oldest NORMAL event under DROP_OLDEST,
+    // else the new event itself.
+    private Entry<T> evict(Entry<T> incoming) {
+        boolean dropOldest = overflowPolicy == OverflowPolicy.DROP_OLDEST;
+        Entry<T> victim = null;
+        if (dropOldest || incoming.priority == SamplingRule.Priority.NORMAL) {
+            victim = removeOldest(SamplingRule.Priority.LOW);
+        }
+        if (victim == null && dropOldest && incoming.priority == SamplingRule.Priority.NORMAL) {
+            victim = removeOldest(SamplingRule.Priority.NORMAL);
+        }
+        return victim != null ? victim : incoming;
+    }
+
+    private Entry<T> removeOldest(SamplingRule.Priority priority) {
+        Iterator<Entry<T>> it = entries.iterator();
+        while (it.hasNext()) {
+            Entry<T> entry = it.next();
+            if (entry.priority == priority) {
+                it.remove();
+                boundedCount--;
+                return entry;
+            }
+        }
+        return null;
+    }
+}
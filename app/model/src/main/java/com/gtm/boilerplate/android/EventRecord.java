@@ -0,0 +1,167 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A logged analytics event kept in structured form. The JSON shown in the debug
+ * sheet is rendered on first request and cached.
+ */
+public final class EventRecord {
+
+    private static final Gson PRETTY_GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+
+    private final long id = NEXT_ID.getAndIncrement();
+    private final String name;
+    private final Map<String, Object> params;
+    private final long timestampMillis;
+    private volatile String json;
+
+    public EventRecord(String name, Map<String, Object> params, long timestampMillis) {
+        this.name = name;
+        this.params = Collections.unmodifiableMap(params);
+        this.timestampMillis = timestampMillis;
+    }
+
+    /** Records {@code event} as it is logged, flattening its items into the params. */
+    public static EventRecord fromEvent(AnalyticsEvent event, long timestampMillis) {
+        Map<String, Object> params = new LinkedHashMap<>(event.getParams());
+        List<EventItem> items = event.getItems();
+        if (!items.isEmpty()) {
+            List<Object> itemParams = new ArrayList<>(items.size());
+            for (EventItem item : items) {
+                itemParams.add(Collections.unmodifiableMap(item.toParams()));
+            }
+            params.put(EventSchema.Param.ITEMS, Collections.unmodifiableList(itemParams));
+        }
+        return new EventRecord(event.getName(), params, timestampMillis);
+    }
+
+    /** Process-unique id, used as a stable key by the event inspector. */
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, Object> getParams() {
+        return params;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public String toJson() {
+        String result = json;
+        if (result == null) {
+            result = PRETTY_GSON.toJson(toJsonObject());
+            json = result;
+        }
+        return result;
+    }
+
+    public JsonObject toJsonObject() {
+        JsonObject jsonObject = new JsonObject();
+        jsonObject.addProperty("event_name", name);
+        jsonObject.add("params", toJsonElement(params));
+        return jsonObject;
+    }
+
+    /**
+     * Streams the record as a single compact JSON object, including its timestamp,
+     * without building an intermediate tree.
+     */
+    public void writeJson(JsonWriter writer) throws IOException {
+        writer.beginObject();
+        writer.name("event_name").value(name);
+        writer.name("timestamp_millis").value(timestampMillis);
+        writer.name("params");
+        writeValue(writer, params);
+        writer.endObject();
+    }
+
+    private static void writeValue(JsonWriter writer, Object value) throws IOException {
+        if (value == null) {
+            writer.nullValue();
+        } else if (value instanceof Map) {
+            writer.beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                writer.name(String.valueOf(entry.getKey()));
+                writeValue(writer, entry.getValue());
+            }
+            writer.endObject();
+        } else if (value instanceof List) {
+            writer.beginArray();
+            for (Object element : (List<?>) value) {
+                writeValue(writer, element);
+            }
+            writer.endArray();
+        } else if (value instanceof Number) {
+            writer.value((Number) value);
+        } else if (value instanceof Boolean) {
+            writer.value((boolean) (Boolean) value);
+        } else {
+            writer.value(String.valueOf(value));
+        }
+    }
+
+    private static JsonElement toJsonElement(Object value) {
+        if (value == null) {
+            return JsonNull.INSTANCE;
+        }
+        if (value instanceof Map) {
+            JsonObject object = new JsonObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                object.add(String.valueOf(entry.getKey()), toJsonElement(entry.getValue()));
+            }
+            return object;
+        }
+        if (value instanceof List) {
+            JsonArray array = new JsonArray();
+            for (Object element : (List<?>) value) {
+                array.add(toJsonElement(element));
+            }
+            return array;
+        }
+        if (value instanceof Number) {
+            return new JsonPrimitive((Number) value);
+        }
+        if (value instanceof Boolean) {
+            return new JsonPrimitive((Boolean) value);
+        }
+        return new JsonPrimitive(String.valueOf(value));
+    }
+}
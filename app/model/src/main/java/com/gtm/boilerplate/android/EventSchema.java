@@ -0,0 +1,57 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+/**
+ * GA4 event and parameter names, mirroring {@code FirebaseAnalytics.Event} and
+ * {@code FirebaseAnalytics.Param} so events can be built without the Android SDK.
+ */
+public final class EventSchema {
+
+    private EventSchema() {
+    }
+
+    public static final class Event {
+        public static final String ADD_TO_CART = "add_to_cart";
+        public static final String PURCHASE = "purchase";
+        public static final String VIEW_CART = "view_cart";
+        public static final String VIEW_ITEM = "view_item";
+        public static final String VIEW_ITEM_LIST = "view_item_list";
+
+        private Event() {
+        }
+    }
+
+    public static final class Param {
+        public static final String AFFILIATION = "affiliation";
+        public static final String CURRENCY = "currency";
+        public static final String INDEX = "index";
+        public static final String ITEMS = "items";
+        public static final String ITEM_CATEGORY = "item_category";
+        public static final String ITEM_ID = "item_id";
+        public static final String ITEM_LIST_ID = "item_list_id";
+        public static final String ITEM_LIST_NAME = "item_list_name";
+        public static final String ITEM_NAME = "item_name";
+        public static final String ITEM_VARIANT = "item_variant";
+        public static final String PRICE = "price";
+        public static final String QUANTITY = "quantity";
+        public static final String TRANSACTION_ID = "transaction_id";
+        public static final String VALUE = "value";
+
+        private Param() {
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Counters and latency histograms for one event name. */
+public final class EventStats {
+    private final String eventName;
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong sampledOut = new AtomicLong();
+    private final AtomicLong totalPayloadBytes = new AtomicLong();
+    private final AtomicLong maxPayloadBytes = new AtomicLong();
+    private final LatencyHistogram queueLatency = new LatencyHistogram();
+    private final LatencyHistogram buildLatency = new LatencyHistogram();
+    private final LatencyHistogram dispatchLatency = new LatencyHistogram();
+
+    EventStats(String eventName) {
+        this.eventName = eventName;
+    }
+
+    void recordQueued() {
+        queued.incrementAndGet();
+    }
+
+    void recordDropped() {
+        dropped.incrementAndGet();
+    }
+
+    void recordCoalesced() {
+        coalesced.incrementAndGet();
+    }
+
+    void recordSampledOut() {
+        sampledOut.incrementAndGet();
+    }
+
+    void recordDelivered(long queueNanos, long buildNanos, long dispatchNanos, int payloadBytes) {
+        delivered.incrementAndGet();
+        queueLatency.record(queueNanos);
+        buildLatency.record(buildNanos);
+        dispatchLatency.record(dispatchNanos);
+        totalPayloadBytes.addAndGet(payloadBytes);
+        maxPayloadBytes.accumulateAndGet(payloadBytes, Math::max);
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+
+    public long getQueuedCount() {
+        return queued.get();
+    }
+
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /** Events merged into another one or suppressed as duplicates before queueing. */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /** Events discarded by the sampling policy before they were built. */
+    public long getSampledOutCount() {
+        return sampledOut.get();
+    }
+
+    public long getMeanPayloadBytes() {
+        long n = delivered.get();
+        return n == 0 ? 0 : totalPayloadBytes.get() / n;
+    }
+
+    public long getMaxPayloadBytes() {
+        return maxPayloadBytes.get();
+    }
+
+    /** Time from {@code dispatch} until the worker picked the event up. */
+    public LatencyHistogram getQueueLatency() {
+        return queueLatency;
+    }
+
+    /** Time spent in the caller's event builder. */
+    public LatencyHistogram getBuildLatency() {
+        return buildLatency;
+    }
+
+    /** Time spent logging to Firebase plus the debug log and spool. */
+    public LatencyHistogram getDispatchLatency() {
+        return dispatchLatency;
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shares one instance of each repeated catalog string (categories and SKUs), so
+ * thousands of products do not each hold their own copy. Unlike
+ * {@link String#intern()} the pool belongs to whoever creates it: a catalog load
+ * uses one and drops it when the load is done, so nothing stays pooled. Not
+ * thread-safe.
+ */
+public final class Interner {
+    private final Map<String, String> pool = new HashMap<>();
+
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = pool.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+/**
+ * The fixed item fields of one product: id, name, category, price and variant.
+ * {@link Product} builds it once and every {@link EventItem} for that product
+ * shares it, overlaying only its own quantity or index.
+ */
+public final class ItemPayload {
+    private final String id;
+    private final String name;
+    private final String category;
+    private final double price;
+    private final String variant;
+    // Whatever the platform edge renders the fields into, so it too is built once.
+    private volatile Object rendered;
+
+    public ItemPayload(String id, String name, String category, double price, String variant) {
+        this.id = id;
+        this.name = name;
+        this.category = category;
+        this.price = price;
+        this.variant = variant;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public String getVariant() {
+        return variant;
+    }
+
+    /**
+     * Returns the edge's cached rendering of these fields, or null if none was
+     * set. The edge owns the type, and must never modify a rendering once set.
+     */
+    public Object getRendered() {
+        return rendered;
+    }
+
+    public void setRendered(Object rendered) {
+        this.rendered = rendered;
+    }
+}
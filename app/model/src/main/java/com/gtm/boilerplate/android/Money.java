@@ -0,0 +1,98 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+/**
+ * An exact amount of money held as a whole number of minor units (cents for USD)
+ * together with its ISO 4217 currency code.
+ */
+public final class Money {
+    public static final String DEFAULT_CURRENCY = "USD";
+
+    private final long minorUnits;
+    private final String currencyCode;
+    private String formatted;
+
+    private Money(long minorUnits, String currencyCode) {
+        this.minorUnits = minorUnits;
+        this.currencyCode = currencyCode;
+    }
+
+    /** @throws IllegalArgumentException if {@code currencyCode} is not an ISO 4217 code */
+    public static Money of(long minorUnits, String currencyCode) {
+        if (currencyCode == null) {
+            throw new NullPointerException("currencyCode");
+        }
+        // Rejects an unknown code here, where bad catalog data fails the load,
+        // rather than later while a row is formatted or an event is built. The
+        // formatter's code is one shared instance per currency.
+        return new Money(minorUnits, MoneyFormatter.forCurrency(currencyCode).getCurrencyCode());
+    }
+
+    public static Money ofMinorUnits(long minorUnits) {
+        return new Money(minorUnits, DEFAULT_CURRENCY);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public String getCurrencyCode() {
+        return currencyCode;
+    }
+
+    /** Amount in major units, for APIs such as FirebaseAnalytics that take a double. */
+    public double toMajorUnits() {
+        return MoneyFormatter.forCurrency(currencyCode).toMajorUnits(minorUnits);
+    }
+
+    /** @throws ArithmeticException if the product overflows a long */
+    public Money times(long quantity) {
+        return new Money(Math.multiplyExact(minorUnits, quantity), currencyCode);
+    }
+
+    public String format() {
+        // Racy but benign: every thread computes the same string.
+        String result = formatted;
+        if (result == null) {
+            result = MoneyFormatter.forCurrency(currencyCode).format(minorUnits);
+            formatted = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Money)) {
+            return false;
+        }
+        Money other = (Money) o;
+        return minorUnits == other.minorUnits && currencyCode.equals(other.currencyCode);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + currencyCode.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
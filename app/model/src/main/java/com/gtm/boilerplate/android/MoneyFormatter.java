@@ -0,0 +1,91 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import java.util.Currency;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Formats minor-unit amounts for one currency. Instances are cached per currency
+ * code and are safe to share between threads.
+ */
+public final class MoneyFormatter {
+    private static final ConcurrentMap<String, MoneyFormatter> CACHE = new ConcurrentHashMap<>();
+
+    private final String currencyCode;
+    private final String symbol;
+    private final int fractionDigits;
+    private final long minorPerMajor;
+
+    private MoneyFormatter(Currency currency) {
+        this.currencyCode = currency.getCurrencyCode();
+        this.symbol = currency.getSymbol(Locale.US);
+        this.fractionDigits = Math.max(0, currency.getDefaultFractionDigits());
+        long factor = 1;
+        for (int i = 0; i < fractionDigits; i++) {
+            factor *= 10;
+        }
+        this.minorPerMajor = factor;
+    }
+
+    public static MoneyFormatter forCurrency(String currencyCode) {
+        MoneyFormatter formatter = CACHE.get(currencyCode);
+        if (formatter == null) {
+            formatter = new MoneyFormatter(Currency.getInstance(currencyCode));
+            MoneyFormatter existing = CACHE.putIfAbsent(currencyCode, formatter);
+            if (existing != null) {
+                formatter = existing;
+            }
+        }
+        return formatter;
+    }
+
+    public String getCurrencyCode() {
+        return currencyCode;
+    }
+
+    public long getMinorPerMajor() {
+        return minorPerMajor;
+    }
+
+    public double toMajorUnits(long minorUnits) {
+        return (double) minorUnits / minorPerMajor;
+    }
+
+    /** Formats e.g. 14999 USD as "$149.99". */
+    public String format(long minorUnits) {
+        StringBuilder sb = new StringBuilder(symbol.length() + 24);
+        appendTo(sb, minorUnits);
+        return sb.toString();
+    }
+
+    public void appendTo(StringBuilder sb, long minorUnits) {
+        if (minorUnits < 0) {
+            sb.append('-');
+            minorUnits = -minorUnits;
+        }
+        sb.append(symbol).append(minorUnits / minorPerMajor);
+        if (fractionDigits > 0) {
+            sb.append('.');
+            long fraction = minorUnits % minorPerMajor;
+            for (long digit = minorPerMajor / 10; digit > 0; digit /= 10) {
+                sb.append((char) ('0' + fraction / digit % 10));
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+/**
+ * Immutable catalog entry. Per-cart state such as quantity lives in
+ * {@link CartLine}, so products can be shared freely across threads and caches.
+ * The product's analytics item is derived from these fields on first use and
+ * kept with it.
+ */
+public final class Product {
+    private final String id;
+    private final String name;
+    private final String category;
+    private final Money price;
+    private final int imageResource;
+    private final String sku;
+    private EventItem eventItem;
+
+    public Product(String id, String name, String category, Money price, int imageResource, String sku) {
+        this.id = id;
+        this.name = name;
+        this.category = category;
+        this.price = price;
+        this.imageResource = imageResource;
+        // The SKU is also every event item's variant and often equals the id, so
+        // the two share one instance when they can.
+        this.sku = sku != null && sku.equals(id) ? id : sku;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public Money getPrice() {
+        return price;
+    }
+
+    public int getImageResource() {
+        return imageResource;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    /** The product's item fields, built once and shared by every event that lists it. */
+    EventItem getEventItem() {
+        // Racy but benign: EventItem is immutable, and every thread builds an equal one.
+        EventItem item = eventItem;
+        if (item == null) {
+            item = new EventItem(id, name, category, price.toMajorUnits(), sku);
+            eventItem = item;
+        }
+        return item;
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-event-name sampling decisions. Names without a rule use the default rule.
+ * Deciding is lock-free and allocation-free once a name has been seen.
+ */
+public final class SamplingPolicy {
+    private static final long MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final class RuleState {
+        final SamplingRule rule;
+        // The current one-minute window's number in the high 32 bits and the
+        // events sent in it in the low 32, so a new window and its count are
+        // swapped in together.
+        final AtomicLong window = new AtomicLong();
+
+        RuleState(SamplingRule rule) {
+            this.rule = rule;
+        }
+
+        boolean tryAcquire() {
+            int cap = rule.getMaxPerMinute();
+            if (cap == 0) {
+                return true;
+            }
+            int windowNumber = (int) ((nanoClock.getAsLong() - originNanos) / MINUTE_NANOS);
+            while (true) {
+                long current = window.get();
+                int currentWindow = (int) (current >>> 32);
+                int sent = windowNumber > currentWindow ? 0 : (int) current;
+                if (sent >= cap) {
+                    return false;
+                }
+                int nextWindow = Math.max(windowNumber, currentWindow);
+                if (window.compareAndSet(current, ((long) nextWindow << 32) | (sent + 1))) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    private final LongSupplier nanoClock;
+    private final long originNanos;
+    private final ConcurrentMap<String, RuleState> states = new ConcurrentHashMap<>();
+    private volatile RuleState defaultState;
+
+    public SamplingPolicy(SamplingRule defaultRule) {
+        this(defaultRule, System::nanoTime);
+    }
+
+    /** For tests: {@code nanoClock} stands in for {@link System#nanoTime()}. */
+    SamplingPolicy(SamplingRule defaultRule, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.originNanos = nanoClock.getAsLong();
+        this.defaultState = new RuleState(defaultRule);
+    }
+
+    public void setRule(String eventName, SamplingRule rule) {
+        states.put(eventName, new RuleState(rule));
+    }
+
+    public void setDefaultRule(SamplingRule rule) {
+        defaultState = new RuleState(rule);
+    }
+
+    public SamplingRule getRule(String eventName) {
+        return state(eventName).rule;
+    }
+
+    /** Decides whether the next {@code eventName} event should be sent. */
+    public boolean shouldKeep(String eventName) {
+        RuleState state = state(eventName);
+        SamplingRule rule = state.rule;
+        if (rule.getPriority() == SamplingRule.Priority.CRITICAL) {
+            return true;
+        }
+        double sampleRate = rule.getSampleRate();
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return false;
+        }
+        return state.tryAcquire();
+    }
+
+    private RuleState state(String eventName) {
+        RuleState state = states.get(eventName);
+        return state != null ? state : defaultState;
+    }
+}
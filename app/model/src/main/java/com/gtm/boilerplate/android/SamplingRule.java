@@ -0,0 +1,79 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+/**
+ * Whether and how often an event name is sent. Rules combine a priority tier
+ * with an optional sample rate and per-minute cap; both are checked before the
+ * event is built, so a discarded event costs almost nothing.
+ */
+public final class SamplingRule {
+
+    public enum Priority {
+        /** Never sampled out and never dropped from a full queue to make room. */
+        CRITICAL,
+        /** Dropped from a full queue only once no LOW events are left to evict. */
+        NORMAL,
+        /** Evicted first when the queue is full, so it cannot crowd out NORMAL events. */
+        LOW
+    }
+
+    public static final SamplingRule KEEP_ALL = new SamplingRule(Priority.NORMAL, 1.0, 0);
+
+    private final Priority priority;
+    private final double sampleRate;
+    private final int maxPerMinute;
+
+    private SamplingRule(Priority priority, double sampleRate, int maxPerMinute) {
+        this.priority = priority;
+        this.sampleRate = sampleRate;
+        this.maxPerMinute = maxPerMinute;
+    }
+
+    /** Always sent, e.g. purchases. */
+    public static SamplingRule critical() {
+        return new SamplingRule(Priority.CRITICAL, 1.0, 0);
+    }
+
+    /** Sent with probability {@code sampleRate}, between 0 and 1. */
+    public static SamplingRule sampled(double sampleRate) {
+        if (!(sampleRate >= 0 && sampleRate <= 1)) {
+            throw new IllegalArgumentException("sampleRate must be in [0, 1]: " + sampleRate);
+        }
+        return new SamplingRule(Priority.LOW, sampleRate, 0);
+    }
+
+    /** Sent until {@code maxPerMinute} events have gone out in the current minute. */
+    public static SamplingRule rateCapped(int maxPerMinute) {
+        if (maxPerMinute <= 0) {
+            throw new IllegalArgumentException("maxPerMinute must be positive: " + maxPerMinute);
+        }
+        return new SamplingRule(Priority.LOW, 1.0, maxPerMinute);
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /** Zero means uncapped. */
+    public int getMaxPerMinute() {
+        return maxPerMinute;
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class CartLineTest {
+    private final Product product = new Product("p1", "Shirt", "Apparel", Money.ofMinorUnits(1999), 0, "SKU-1");
+
+    @Test
+    public void totalIsUnitPriceTimesQuantity() {
+        assertEquals(1999, new CartLine(product, 1).getTotalMinorUnits());
+        assertEquals(5997, new CartLine(product, 3).getTotalMinorUnits());
+    }
+
+    @Test
+    public void withQuantityReplacesTheLine() {
+        CartLine line = new CartLine(product, 1);
+        CartLine updated = line.withQuantity(5);
+
+        assertEquals(1, line.getQuantity());
+        assertEquals(5, updated.getQuantity());
+        assertSame(product, updated.getProduct());
+        assertEquals("p1", updated.getProductId());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveQuantities() {
+        new CartLine(product, 0);
+    }
+}
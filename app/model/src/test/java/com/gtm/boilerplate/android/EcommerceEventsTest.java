@@ -0,0 +1,109 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EcommerceEventsTest {
+
+    @Test
+    public void chunkCountRoundsUpToWholeEvents() {
+        assertEquals(0, EcommerceEvents.viewItemListChunkCount(0));
+        assertEquals(1, EcommerceEvents.viewItemListChunkCount(1));
+        assertEquals(1, EcommerceEvents.viewItemListChunkCount(EcommerceEvents.MAX_ITEMS_PER_EVENT));
+        assertEquals(2, EcommerceEvents.viewItemListChunkCount(EcommerceEvents.MAX_ITEMS_PER_EVENT + 1));
+        assertEquals(3, EcommerceEvents.viewItemListChunkCount(3 * EcommerceEvents.MAX_ITEMS_PER_EVENT));
+    }
+
+    @Test
+    public void chunksCoverTheListWithGlobalIndexes() {
+        List<Product> products = products(450);
+        int chunks = EcommerceEvents.viewItemListChunkCount(products.size());
+
+        int expectedIndex = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            AnalyticsEvent event = EcommerceEvents.viewItemList("list", "List", products, chunk);
+            List<EventItem> items = event.getItems();
+            assertTrue(items.size() <= EcommerceEvents.MAX_ITEMS_PER_EVENT);
+            for (EventItem item : items) {
+                assertEquals(expectedIndex, item.getIndex());
+                assertEquals(products.get(expectedIndex).getId(), item.getId());
+                expectedIndex++;
+            }
+        }
+        assertEquals(products.size(), expectedIndex);
+    }
+
+    @Test
+    public void viewItemListReusesEachProductsItemPayload() {
+        List<Product> products = products(EcommerceEvents.MAX_ITEMS_PER_EVENT + 1);
+
+        AnalyticsEvent first = EcommerceEvents.viewItemList("list", "List", products, 1);
+        AnalyticsEvent second = EcommerceEvents.viewItemList("list", "List", products, 1);
+
+        Product last = products.get(EcommerceEvents.MAX_ITEMS_PER_EVENT);
+        assertSame(EventItem.of(last).getPayload(), first.getItems().get(0).getPayload());
+        assertSame(first.getItems().get(0).getPayload(), second.getItems().get(0).getPayload());
+        assertEquals(EcommerceEvents.MAX_ITEMS_PER_EVENT, second.getItems().get(0).getIndex());
+    }
+
+    @Test
+    public void cartEventsCarryLineQuantities() {
+        List<Product> products = products(2);
+        List<CartLine> lines = new ArrayList<>();
+        lines.add(new CartLine(products.get(0), 1));
+        lines.add(new CartLine(products.get(1), 4));
+
+        AnalyticsEvent event = EcommerceEvents.purchase(lines, Money.ofMinorUnits(500), "T1");
+
+        assertEquals(EventSchema.Event.PURCHASE, event.getName());
+        assertEquals("T1", event.getParams().get(EventSchema.Param.TRANSACTION_ID));
+        assertEquals(5.0, (Double) event.getParams().get(EventSchema.Param.VALUE), 1e-9);
+        assertEquals(1, event.getItems().get(0).getQuantity());
+        assertEquals(4, event.getItems().get(1).getQuantity());
+    }
+
+    @Test
+    public void eventsShareEachProductsItemPayload() {
+        List<Product> products = products(1);
+        List<CartLine> lines = new ArrayList<>();
+        lines.add(new CartLine(products.get(0), 2));
+
+        EventItem viewCart = EcommerceEvents.viewCart(lines, Money.ofMinorUnits(200)).getItems().get(0);
+        EventItem purchase = EcommerceEvents.purchase(lines, Money.ofMinorUnits(200), "T1").getItems().get(0);
+
+        assertSame(viewCart.getPayload(), purchase.getPayload());
+        assertSame(EventItem.of(products.get(0)).getPayload(), purchase.getPayload());
+        assertEquals(2, purchase.getQuantity());
+        assertEquals(EventItem.NOT_SET, EventItem.of(products.get(0)).getQuantity());
+    }
+
+    private static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(new Product("product_" + i, "Product " + i, "Apparel", Money.ofMinorUnits(100), 0,
+                    "SKU-" + i));
+        }
+        return products;
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class EventMetricsTest {
+    private final EventMetrics metrics = new EventMetrics();
+
+    @Test
+    public void countsEachOutcomePerEventName() {
+        metrics.recordQueued("view_item", "MainActivity");
+        metrics.recordQueued("view_item", "MainActivity");
+        metrics.recordQueued("purchase", "CartActivity");
+        metrics.recordDropped("view_item");
+        metrics.recordCoalesced("view_item");
+        metrics.recordSampledOut("view_item");
+        metrics.recordDelivered("view_item", 1000, 2000, 3000, 100);
+        metrics.recordDelivered("purchase", 1000, 2000, 3000, 300);
+
+        List<EventStats> stats = metrics.getStats();
+        assertEquals(2, stats.size());
+        EventStats purchase = stats.get(0);
+        EventStats viewItem = stats.get(1);
+        assertEquals("purchase", purchase.getEventName());
+        assertEquals(1, purchase.getQueuedCount());
+        assertEquals(1, purchase.getDeliveredCount());
+        assertEquals(0, purchase.getDroppedCount());
+        assertEquals("view_item", viewItem.getEventName());
+        assertEquals(2, viewItem.getQueuedCount());
+        assertEquals(1, viewItem.getDeliveredCount());
+        assertEquals(1, viewItem.getDroppedCount());
+        assertEquals(1, viewItem.getCoalescedCount());
+        assertEquals(1, viewItem.getSampledOutCount());
+    }
+
+    @Test
+    public void countsEventsPerScreen() {
+        metrics.recordQueued("view_item", "MainActivity");
+        metrics.recordQueued("view_item_list", "MainActivity");
+        metrics.recordQueued("purchase", "CartActivity");
+
+        Map<String, Long> screens = metrics.getEventsByScreen();
+        assertEquals(Long.valueOf(2), screens.get("MainActivity"));
+        assertEquals(Long.valueOf(1), screens.get("CartActivity"));
+    }
+
+    @Test
+    public void tracksMeanAndMaxPayload() {
+        metrics.recordDelivered("view_item", 0, 0, 0, 100);
+        metrics.recordDelivered("view_item", 0, 0, 0, 300);
+
+        EventStats stats = metrics.getStats().get(0);
+        assertEquals(200, stats.getMeanPayloadBytes());
+        assertEquals(300, stats.getMaxPayloadBytes());
+    }
+
+    @Test
+    public void estimatesPayloadFromKeysAndValues() {
+        AnalyticsEvent event = AnalyticsEvent.builder("purchase")
+                .param("currency", "USD")
+                .param("value", 19.99)
+                .param("quantity", 2L)
+                .param("test", true)
+                .build();
+
+        // "currency" + "USD", "value" + 8, "quantity" + 8, "test" + 1.
+        assertEquals(11 + 13 + 16 + 5, EventMetrics.estimatePayloadBytes(event));
+    }
+
+    @Test
+    public void estimatesItemsAtTheirFieldSizes() {
+        EventItem item = new EventItem("p1", "Shirt", "Apparel", 19.99, "SKU-1");
+        AnalyticsEvent event = AnalyticsEvent.builder("view_cart").item(item).build();
+
+        // id, name, category and variant as chars, plus the price as a double.
+        assertEquals(2 + 5 + 7 + 5 + Double.BYTES, EventMetrics.estimatePayloadBytes(event));
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class EventQueueTest {
+    private static final SamplingRule.Priority CRITICAL = SamplingRule.Priority.CRITICAL;
+    private static final SamplingRule.Priority NORMAL = SamplingRule.Priority.NORMAL;
+    private static final SamplingRule.Priority LOW = SamplingRule.Priority.LOW;
+
+    @Test
+    public void pollsInArrivalOrder() {
+        EventQueue<String> queue = new EventQueue<>(4, EventQueue.OverflowPolicy.DROP_OLDEST);
+        queue.offer("a", NORMAL);
+        queue.offer("b", LOW);
+        queue.offer("c", CRITICAL);
+
+        assertEquals(Arrays.asList("a", "b", "c"), drain(queue));
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void dropOldestEvictsTheOldestLowEventFirst() {
+        EventQueue<String> queue = new EventQueue<>(3, EventQueue.OverflowPolicy.DROP_OLDEST);
+        queue.offer("normal1", NORMAL);
+        queue.offer("low1", LOW);
+        queue.offer("low2", LOW);
+
+        assertEquals("low1", queue.offer("normal2", NORMAL));
+        assertEquals("low2", queue.offer("low3", LOW));
+        assertEquals(Arrays.asList("normal1", "normal2", "low3"), drain(queue));
+    }
+
+    @Test
+    public void dropOldestEvictsTheOldestNormalEventOnceNoLowIsLeft() {
+        EventQueue<String> queue = new EventQueue<>(2, EventQueue.OverflowPolicy.DROP_OLDEST);
+        queue.offer("normal1", NORMAL);
+        queue.offer("normal2", NORMAL);
+
+        assertEquals("normal1", queue.offer("normal3", NORMAL));
+        assertEquals(Arrays.asList("normal2", "normal3"), drain(queue));
+    }
+
+    @Test
+    public void lowEventsNeverEvictNormalOnes() {
+        EventQueue<String> queue = new EventQueue<>(2, EventQueue.OverflowPolicy.DROP_OLDEST);
+        queue.offer("normal1", NORMAL);
+        queue.offer("normal2", NORMAL);
+
+        assertEquals("low", queue.offer("low", LOW));
+        assertEquals(Arrays.asList("normal1", "normal2"), drain(queue));
+    }
+
+    @Test
+    public void dropNewestRefusesTheNewEvent() {
+        EventQueue<String> queue = new EventQueue<>(2, EventQueue.OverflowPolicy.DROP_NEWEST);
+        queue.offer("normal1", NORMAL);
+        queue.offer("low1", LOW);
+
+        assertEquals("low2", queue.offer("low2", LOW));
+        assertEquals(Arrays.asList("normal1", "low1"), drain(queue));
+    }
+
+    @Test
+    public void dropNewestStillEvictsLowEventsForNormalOnes() {
+        EventQueue<String> queue = new EventQueue<>(2, EventQueue.OverflowPolicy.DROP_NEWEST);
+        queue.offer("low1", LOW);
+        queue.offer("normal1", NORMAL);
+
+        assertEquals("low1", queue.offer("normal2", NORMAL));
+        assertEquals("normal3", queue.offer("normal3", NORMAL));
+        assertEquals(Arrays.asList("normal1", "normal2"), drain(queue));
+    }
+
+    @Test
+    public void criticalEventsAreNeverRefusedOrEvicted() {
+        for (EventQueue.OverflowPolicy policy : EventQueue.OverflowPolicy.values()) {
+            EventQueue<String> queue = new EventQueue<>(1, policy);
+            queue.offer("critical1", CRITICAL);
+            queue.offer("normal1", NORMAL);
+
+            assertNull(queue.offer("critical2", CRITICAL));
+            String dropped = queue.offer("normal2", NORMAL);
+            assertTrue(dropped, dropped.startsWith("normal"));
+            assertEquals(3, queue.size());
+            assertTrue(drain(queue).containsAll(Arrays.asList("critical1", "critical2")));
+        }
+    }
+
+    @Test
+    public void pollingFreesCapacity() {
+        EventQueue<String> queue = new EventQueue<>(1, EventQueue.OverflowPolicy.DROP_NEWEST);
+        queue.offer("a", NORMAL);
+        assertEquals("b", queue.offer("b", NORMAL));
+
+        assertEquals("a", queue.poll());
+        assertNull(queue.offer("c", NORMAL));
+        assertEquals(Arrays.asList("c"), drain(queue));
+    }
+
+    private static List<String> drain(EventQueue<String> queue) {
+        List<String> events = new ArrayList<>();
+        String event;
+        while ((event = queue.poll()) != null) {
+            events.add(event);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class EventRecordCodecTest {
+
+    @Test
+    public void roundTripsEveryValueType() throws IOException {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put(EventSchema.Param.ITEM_ID, "product_1");
+        item.put(EventSchema.Param.QUANTITY, 2L);
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("string", "value");
+        params.put("long", Long.MIN_VALUE);
+        params.put("double", 12.5);
+        params.put("boolean", true);
+        params.put("null", null);
+        params.put(EventSchema.Param.ITEMS, Arrays.asList(item, item));
+        EventRecord record = new EventRecord(EventSchema.Event.PURCHASE, params, 1_700_000_000_000L);
+
+        EventRecord decoded = roundTrip(record);
+
+        assertEquals(record.getName(), decoded.getName());
+        assertEquals(record.getTimestampMillis(), decoded.getTimestampMillis());
+        assertEquals(record.getParams(), decoded.getParams());
+        assertEquals(record.toJson(), decoded.toJson());
+    }
+
+    @Test
+    public void roundTripsRecordsBuiltFromEvents() throws IOException {
+        Product product = new Product("p1", "Shirt", "Apparel", Money.ofMinorUnits(2500), 0, "SKU-1");
+        EventRecord record = EventRecord.fromEvent(EcommerceEvents.viewCart(
+                Arrays.asList(new CartLine(product, 3)), Money.ofMinorUnits(7500)), 42L);
+
+        assertEquals(record.toJson(), roundTrip(record).toJson());
+    }
+
+    @Test
+    public void rejectsUnknownTags() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(0);
+            out.writeUTF("event");
+            out.writeByte(99);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        try {
+            EventRecordCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+            fail("Expected a corrupt record to be rejected");
+        } catch (IOException expected) {
+            // Expected.
+        }
+    }
+
+    private static EventRecord roundTrip(EventRecord record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            EventRecordCodec.write(out, record);
+        }
+        return EventRecordCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class LatencyHistogramTest {
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMeanMicros());
+        assertEquals(0, histogram.getPercentileMicros(50));
+        assertEquals(0, histogram.getMaxMicros());
+    }
+
+    @Test
+    public void percentileIsTheUpperBoundOfTheSamplesBucket() {
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(1500));
+
+        assertEquals(2048, histogram.getPercentileMicros(50));
+        assertEquals(2048, histogram.getPercentileMicros(99));
+        assertEquals(1500, histogram.getMaxMicros());
+        assertEquals(1500, histogram.getMeanMicros());
+    }
+
+    @Test
+    public void powersOfTwoFallIntoTheNextBucket() {
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(1024));
+
+        assertEquals(2048, histogram.getPercentileMicros(50));
+    }
+
+    @Test
+    public void percentilesRankAcrossBuckets() {
+        for (int i = 0; i < 90; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(10));
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(5000));
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(16, histogram.getPercentileMicros(50));
+        assertEquals(16, histogram.getPercentileMicros(90));
+        assertEquals(8192, histogram.getPercentileMicros(99));
+        assertEquals(509, histogram.getMeanMicros());
+    }
+
+    @Test
+    public void overflowBucketReportsTheMax() {
+        histogram.record(TimeUnit.SECONDS.toNanos(30));
+
+        assertEquals(TimeUnit.SECONDS.toMicros(30), histogram.getPercentileMicros(50));
+        assertEquals(TimeUnit.SECONDS.toMicros(30), histogram.getMaxMicros());
+    }
+
+    @Test
+    public void negativeSamplesCountAsZero() {
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(100));
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(-100));
+
+        assertEquals(2, histogram.getCount());
+        assertEquals(1, histogram.getPercentileMicros(50));
+        assertEquals(50, histogram.getMeanMicros());
+        assertEquals(100, histogram.getMaxMicros());
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class MoneyTest {
+
+    @Test
+    public void timesMultipliesMinorUnitsAndKeepsCurrency() {
+        Money price = Money.of(1999, "EUR");
+        assertEquals(Money.of(5997, "EUR"), price.times(3));
+        assertEquals(Money.of(0, "EUR"), price.times(0));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void timesRejectsOverflow() {
+        Money.ofMinorUnits(Long.MAX_VALUE / 2 + 1).times(2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownCurrencyCodes() {
+        Money.of(100, "XYZ1");
+    }
+
+    @Test
+    public void currencyCodesShareOneInstance() {
+        assertSame(Money.of(1, new String("EUR")).getCurrencyCode(), Money.of(2, new String("EUR")).getCurrencyCode());
+    }
+
+    @Test
+    public void formatsMinorUnitsForTheCurrency() {
+        assertEquals("$149.99", Money.ofMinorUnits(14999).format());
+        assertEquals("$0.05", Money.ofMinorUnits(5).format());
+        assertEquals("-$1.50", Money.ofMinorUnits(-150).format());
+        assertEquals("\u00A51500", Money.of(1500, "JPY").format());
+    }
+
+    @Test
+    public void toMajorUnitsUsesCurrencyFractionDigits() {
+        assertEquals(149.99, Money.ofMinorUnits(14999).toMajorUnits(), 1e-9);
+        assertEquals(1500.0, Money.of(1500, "JPY").toMajorUnits(), 1e-9);
+    }
+
+    @Test
+    public void equalityDependsOnAmountAndCurrency() {
+        assertEquals(Money.ofMinorUnits(100), Money.of(100, Money.DEFAULT_CURRENCY));
+        assertEquals(Money.ofMinorUnits(100).hashCode(), Money.of(100, "USD").hashCode());
+        assertNotEquals(Money.ofMinorUnits(100), Money.ofMinorUnits(101));
+        assertNotEquals(Money.of(100, "USD"), Money.of(100, "EUR"));
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class ProductTest {
+
+    @Test
+    public void skuReusesTheIdInstanceWhenEqual() {
+        String id = "SKU-1";
+        Product product = new Product(id, "Shirt", "Apparel", Money.ofMinorUnits(100), 0, new String("SKU-1"));
+
+        assertSame(id, product.getSku());
+    }
+
+    @Test
+    public void distinctSkuIsKept() {
+        Product product = new Product("p1", "Shirt", "Apparel", Money.ofMinorUnits(100), 0, "SKU-1");
+
+        assertEquals("SKU-1", product.getSku());
+    }
+
+    @Test
+    public void internerSharesEqualStrings() {
+        Interner interner = new Interner();
+        String first = interner.intern(new String("Apparel"));
+
+        assertSame(first, interner.intern(new String("Apparel")));
+        assertNotSame(first, new Interner().intern(new String("Apparel")));
+    }
+}
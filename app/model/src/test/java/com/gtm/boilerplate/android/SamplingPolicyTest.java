@@ -0,0 +1,103 @@
+/**
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.soteria.firebaseapp.android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SamplingPolicyTest {
+    private final AtomicLong nanos = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final SamplingPolicy policy = new SamplingPolicy(SamplingRule.KEEP_ALL, nanos::get);
+
+    @Test
+    public void keepAllIsTheDefault() {
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(policy.shouldKeep("anything"));
+        }
+    }
+
+    @Test
+    public void sampleRateZeroDropsEverything() {
+        policy.setRule("view_item", SamplingRule.sampled(0));
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(policy.shouldKeep("view_item"));
+        }
+    }
+
+    @Test
+    public void sampleRateOneKeepsEverything() {
+        policy.setRule("view_item", SamplingRule.sampled(1));
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(policy.shouldKeep("view_item"));
+        }
+    }
+
+    @Test
+    public void rateCapResetsWithTheNextWindow() {
+        policy.setRule("view_item", SamplingRule.rateCapped(3));
+
+        assertEquals(3, keptOutOf(10));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertEquals(0, keptOutOf(10));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(3, keptOutOf(10));
+    }
+
+    @Test
+    public void rateCapIsPerEventName() {
+        policy.setRule("view_item", SamplingRule.rateCapped(1));
+        policy.setRule("view_item_list", SamplingRule.rateCapped(1));
+
+        assertTrue(policy.shouldKeep("view_item"));
+        assertFalse(policy.shouldKeep("view_item"));
+        assertTrue(policy.shouldKeep("view_item_list"));
+    }
+
+    @Test
+    public void criticalEventsAreAlwaysKept() {
+        policy.setDefaultRule(SamplingRule.sampled(0));
+        policy.setRule("purchase", SamplingRule.critical());
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(policy.shouldKeep("purchase"));
+        }
+        assertFalse(policy.shouldKeep("view_item"));
+        assertEquals(SamplingRule.Priority.CRITICAL, policy.getRule("purchase").getPriority());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsSampleRatesAboveOne() {
+        SamplingRule.sampled(1.5);
+    }
+
+    private int keptOutOf(int attempts) {
+        int kept = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (policy.shouldKeep("view_item")) {
+                kept++;
+            }
+        }
+        return kept;
+    }
+}
@@ -21,3 +21,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "GTM Boilerplate Android"
 include(":app")
+include(":benchmark")
+include(":model")